@@ -0,0 +1,67 @@
+package com.pradata.app.benchmark;
+
+import com.pradata.app.service.QuizAssignmentIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Assignment-criteria matching behind getAssignedQuizzesForUser, 1k published quizzes and 10k distinct users
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentMatchingBenchmark {
+
+    private QuizAssignmentIndex index;
+    private String[] rollNumbers;
+    private String[] emails;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        index = new QuizAssignmentIndex();
+        index.rebuild(BenchmarkData.publishedQuizzes(42));
+        rollNumbers = new String[BenchmarkData.USER_COUNT];
+        emails = new String[BenchmarkData.USER_COUNT];
+        for (int user = 0; user < BenchmarkData.USER_COUNT; user++) {
+            rollNumbers[user] = BenchmarkData.rollNumber(user);
+            emails[user] = BenchmarkData.email(user);
+        }
+    }
+
+    @Benchmark
+    public Set<Integer> studentLookup() {
+        int user = nextUser();
+        return index.findAssignedQuizIds(emails[user], rollNumbers[user], true);
+    }
+
+    @Benchmark
+    public Set<Integer> facultyLookup() {
+        int user = nextUser();
+        return index.findAssignedQuizIds(emails[user], emails[user], false);
+    }
+
+    @Benchmark
+    public QuizAssignmentIndex rebuild() {
+        QuizAssignmentIndex fresh = new QuizAssignmentIndex();
+        fresh.rebuild(BenchmarkData.publishedQuizzes(42));
+        return fresh;
+    }
+
+    private int nextUser() {
+        next = next + 1 == BenchmarkData.USER_COUNT ? 0 : next + 1;
+        return next;
+    }
+}
@@ -0,0 +1,88 @@
+package com.pradata.app.benchmark;
+
+import com.pradata.app.model.Question;
+import com.pradata.app.model.Quiz;
+import com.pradata.app.model.Response;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic fixtures sized like an exam day: 1k published quizzes, 100-question papers, 10k users
+final class BenchmarkData {
+
+    static final int QUIZ_COUNT = 1_000;
+    static final int QUESTIONS_PER_PAPER = 100;
+    static final int USER_COUNT = 10_000;
+
+    private static final String[] BRANCHES = { "cs", "ec", "me", "ce", "ee", "it" };
+
+    private BenchmarkData() {
+    }
+
+    static String rollNumber(int user) {
+        return "22" + BRANCHES[user % BRANCHES.length] + String.format("%04d", user % 1200);
+    }
+
+    static String email(int user) {
+        return "user" + user + "@college.edu";
+    }
+
+    // Mix of open quizzes, branch/batch prefixes, full roll numbers and email lists
+    static List<Quiz> publishedQuizzes(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDateTime now = LocalDateTime.now();
+        List<Quiz> quizzes = new ArrayList<>(QUIZ_COUNT);
+        for (int i = 1; i <= QUIZ_COUNT; i++) {
+            Quiz quiz = new Quiz();
+            quiz.setId(i);
+            quiz.setTitle("Quiz " + i);
+            quiz.setStatus("PUBLISHED");
+            quiz.setDurationInMinutes(60);
+            quiz.setStartTime(now.minusHours(1));
+            quiz.setEndTime(now.plusHours(random.nextInt(1, 48)));
+            quiz.setAssignmentCriteria(switch (i % 5) {
+                case 0 -> null;
+                case 1 -> "22" + BRANCHES[random.nextInt(BRANCHES.length)];
+                case 2 -> "22" + BRANCHES[random.nextInt(BRANCHES.length)] + "0" + random.nextInt(10);
+                case 3 -> rollNumber(random.nextInt(USER_COUNT)) + ", " + rollNumber(random.nextInt(USER_COUNT));
+                default -> email(random.nextInt(USER_COUNT)) + " , " + email(random.nextInt(USER_COUNT));
+            });
+            quizzes.add(quiz);
+        }
+        return quizzes;
+    }
+
+    static List<Question> paper(int firstQuestionId) {
+        List<Question> questions = new ArrayList<>(QUESTIONS_PER_PAPER);
+        for (int i = 0; i < QUESTIONS_PER_PAPER; i++) {
+            Question question = new Question();
+            question.setId(firstQuestionId + i);
+            question.setCategory("Category " + (i % 7));
+            question.setDifficultyLevel(i % 3 == 0 ? "Hard" : "Easy");
+            question.setQuestionTitle("What is the answer to question " + (firstQuestionId + i) + "?");
+            question.setOption1("Option A" + i);
+            question.setOption2("Option B" + i);
+            question.setOption3("Option C" + i);
+            question.setOption4(i % 10 == 0 ? null : "Option D" + i); // Some true/false style questions
+            question.setRightAnswer("Option B" + i);
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    // Roughly 60% right answers, in a different order than the paper
+    static List<Response> responses(List<Question> questions, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Response> responses = new ArrayList<>(questions.size());
+        for (int i = questions.size() - 1; i >= 0; i--) {
+            Question question = questions.get(i);
+            Response response = new Response();
+            response.setId(question.getId());
+            response.setResponse(random.nextInt(10) < 6 ? question.getRightAnswer() : question.getOption1());
+            responses.add(response);
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,54 @@
+package com.pradata.app.benchmark;
+
+import com.pradata.app.model.Question;
+import com.pradata.app.model.Response;
+import com.pradata.app.service.AnswerKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Answer-key construction (cache miss) and scoring (every submission) from calculateResult, 100-question paper
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradingBenchmark {
+
+    private List<Question> questions;
+    private List<Response> responses;
+    private AnswerKey answerKey;
+
+    @Setup
+    public void setUp() {
+        questions = BenchmarkData.paper(1);
+        responses = BenchmarkData.responses(questions, 7);
+        answerKey = AnswerKey.of(1, questions, 60);
+    }
+
+    @Benchmark
+    public AnswerKey buildAnswerKey() {
+        return AnswerKey.of(1, questions, 60);
+    }
+
+    @Benchmark
+    public int gradeWithCachedKey() {
+        return answerKey.grade(responses);
+    }
+
+    @Benchmark
+    public int buildAndGrade() {
+        return AnswerKey.of(1, questions, 60).grade(responses);
+    }
+}
@@ -0,0 +1,81 @@
+package com.pradata.app.benchmark;
+
+import com.pradata.app.config.JwtPrincipal;
+import com.pradata.app.config.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// JwtUtil token generation and validation for 10k users; verify() runs with its cache both cold and warm
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String[] emails;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        String secret = Base64.getEncoder().encodeToString("benchmark-secret-benchmark-secret!".getBytes());
+        jwtUtil = newJwtUtil(secret, BenchmarkData.USER_COUNT);
+        uncachedJwtUtil = newJwtUtil(secret, 0);
+        emails = new String[BenchmarkData.USER_COUNT];
+        tokens = new String[BenchmarkData.USER_COUNT];
+        for (int user = 0; user < BenchmarkData.USER_COUNT; user++) {
+            emails[user] = BenchmarkData.email(user);
+            tokens[user] = jwtUtil.generateToken(emails[user], user % 50 == 0 ? "Faculty" : "Student");
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(emails[nextUser()], "Student");
+    }
+
+    @Benchmark
+    public JwtPrincipal verifyCached() {
+        return jwtUtil.verify(tokens[nextUser()]);
+    }
+
+    @Benchmark
+    public JwtPrincipal verifyUncached() {
+        return uncachedJwtUtil.verify(tokens[nextUser()]);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(tokens[nextUser()]);
+    }
+
+    private static JwtUtil newJwtUtil(String secret, int cacheSize) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "jwtSecretString", secret);
+        ReflectionTestUtils.setField(util, "jwtExpirationInMs", TimeUnit.HOURS.toMillis(24));
+        ReflectionTestUtils.setField(util, "verifiedCacheSize", cacheSize);
+        util.init();
+        return util;
+    }
+
+    private int nextUser() {
+        next = next + 1 == BenchmarkData.USER_COUNT ? 0 : next + 1;
+        return next;
+    }
+}
@@ -0,0 +1,45 @@
+package com.pradata.app.benchmark;
+
+import com.pradata.app.model.QuestionWrapper;
+import com.pradata.app.service.QuizPaper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Paper snapshot and per-attempt shuffle + QuestionWrapper building from startQuiz, 100-question paper
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaperRenderBenchmark {
+
+    private QuizPaper paper;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        paper = QuizPaper.of(BenchmarkData.paper(1));
+    }
+
+    @Benchmark
+    public QuizPaper snapshot() {
+        return QuizPaper.of(BenchmarkData.paper(1));
+    }
+
+    @Benchmark
+    public List<QuestionWrapper> render() {
+        return paper.render(++seed); // New attempt, new permutation
+    }
+}
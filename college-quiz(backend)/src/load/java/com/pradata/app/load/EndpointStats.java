@@ -0,0 +1,79 @@
+package com.pradata.app.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Latencies and status codes of one endpoint during one phase of the simulation
+final class EndpointStats {
+
+    private final String name;
+    private final ConcurrentLinkedQueue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+    private final AtomicLong failures = new AtomicLong(); // Transport errors/timeouts, no HTTP status
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(int status, long latencyNanos) {
+        latenciesNanos.add(latencyNanos);
+        statusCounts.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+    }
+
+    void recordFailure(long latencyNanos) {
+        latenciesNanos.add(latencyNanos);
+        failures.incrementAndGet();
+    }
+
+    long count() {
+        return latenciesNanos.size();
+    }
+
+    // Anything that is not 2xx counts as an error (503 admission rejections included)
+    long errors() {
+        long errors = failures.get();
+        for (Map.Entry<Integer, AtomicLong> entry : statusCounts.entrySet()) {
+            if (entry.getKey() < 200 || entry.getKey() >= 300) errors += entry.getValue().get();
+        }
+        return errors;
+    }
+
+    String report(long phaseNanos) {
+        long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        long count = sorted.length;
+        double seconds = phaseNanos / 1e9;
+        return String.format("%-34s %8d %10.1f %9.1f %9.1f %9.1f %9.1f %7.2f%%  %s",
+                name, count, seconds > 0 ? count / seconds : 0,
+                millis(percentile(sorted, 50)), millis(percentile(sorted, 95)), millis(percentile(sorted, 99)),
+                millis(count > 0 ? sorted[sorted.length - 1] : 0),
+                count > 0 ? 100.0 * errors() / count : 0, statuses());
+    }
+
+    static String header() {
+        return String.format("%-34s %8s %10s %9s %9s %9s %9s %8s  %s",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors", "statuses");
+    }
+
+    private String statuses() {
+        Map<Object, Long> sorted = new TreeMap<>();
+        statusCounts.forEach((status, count) -> sorted.put(status, count.get()));
+        if (failures.get() > 0) sorted.put("io", failures.get());
+        return sorted.toString();
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sorted, int p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
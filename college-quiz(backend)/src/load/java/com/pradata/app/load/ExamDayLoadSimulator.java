@@ -0,0 +1,362 @@
+package com.pradata.app.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradata.app.QuizApplication;
+import com.pradata.app.config.JwtUtil;
+import com.pradata.app.model.Question;
+import com.pradata.app.model.Quiz;
+import com.pradata.app.model.User;
+import com.pradata.app.repository.QuestionDao;
+import com.pradata.app.repository.QuizDao;
+import com.pradata.app.repository.UserDao;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Exam-day load simulator. Boots the whole application in-process against an in-memory H2 database
+ * (PostgreSQL mode), seeds students/quizzes/questions, mints JWTs with JwtUtil and replays an exam:
+ * students polling /api/quizzes/assigned-to-me, a synchronized burst on the start endpoint, think time,
+ * and a submit storm. Prints throughput, p50/p95/p99 per endpoint, error rates and JDBC statement counts.
+ *
+ *   mvn -Pload test-compile exec:exec -Dload.args="-Dload.students=2000 -Dload.quizzes=4"
+ *
+ * Only the datasource, schema creation and secrets are replaced; everything else (connection handling,
+ * scheduling pool, ...) comes from the committed config/application.properties, so it measures what ships.
+ *
+ * Knobs (system properties): load.students, load.quizzes, load.questions, load.poll-rounds,
+ * load.poll-interval-ms, load.think-ms, load.start-retries, plus any app.* / spring.* property to
+ * try a configuration (e.g. -Dapp.submission.mode=async -Dspring.threads.virtual.enabled=true).
+ */
+public class ExamDayLoadSimulator {
+
+    private static final int STUDENTS = Integer.getInteger("load.students", 500);
+    private static final int QUIZZES = Integer.getInteger("load.quizzes", 2);
+    private static final int QUESTIONS = Integer.getInteger("load.questions", 50);
+    private static final int POLL_ROUNDS = Integer.getInteger("load.poll-rounds", 3);
+    private static final int POLL_INTERVAL_MS = Integer.getInteger("load.poll-interval-ms", 1000);
+    private static final int THINK_MS = Integer.getInteger("load.think-ms", 3000);
+    private static final int START_RETRIES = Integer.getInteger("load.start-retries", 3);
+
+    private static final String[] BRANCHES = { "cs", "ec", "me", "ee" };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final QueryCountingDataSource[] dataSource = new QueryCountingDataSource[1];
+
+    private String baseUrl;
+    private String[] tokens;
+    private int[] quizOfStudent;
+    private final Map<Integer, StartedAttempt> attempts = new ConcurrentHashMap<>();
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false"); // Devtools reads this before the environment exists
+        new ExamDayLoadSimulator().run(args);
+    }
+
+    private void run(String[] args) throws Exception {
+        ConfigurableApplicationContext context = boot(args);
+        try {
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            seed(context);
+
+            System.out.printf("%nExam-day simulation: %d students, %d quizzes, %d questions each%n", STUDENTS, QUIZZES, QUESTIONS);
+            System.out.println(EndpointStats.header());
+
+            EndpointStats polling = new EndpointStats("GET  /api/quizzes/assigned-to-me");
+            phase("polling", polling, STUDENTS, student -> {
+                for (int round = 0; round < POLL_ROUNDS; round++) {
+                    if (round > 0) sleep(ThreadLocalRandom.current().nextInt(POLL_INTERVAL_MS / 2, POLL_INTERVAL_MS + 1));
+                    send(polling, get("/api/quizzes/assigned-to-me", tokens[student]));
+                }
+            });
+
+            EndpointStats starting = new EndpointStats("POST /api/student/quizzes/{id}/attempt");
+            phase("start burst", starting, STUDENTS, student -> startAttempt(student, starting));
+
+            sleep(THINK_MS / 2); // Everyone is answering; the storm below adds per-student jitter on top
+
+            EndpointStats submitting = new EndpointStats("POST .../attempt/{attemptId}/submit");
+            phase("submit storm", submitting, STUDENTS, student -> {
+                StartedAttempt attempt = attempts.get(student);
+                if (attempt == null) return; // Never got in
+                sleep(ThreadLocalRandom.current().nextInt(THINK_MS / 2 + 1));
+                send(submitting, post("/api/student/quizzes/attempt/" + attempt.attemptId() + "/submit",
+                        tokens[student], answers(attempt.choices())));
+            });
+            printMeters(context.getBean(MeterRegistry.class));
+        } finally {
+            context.close();
+            System.exit(0); // The HTTP client's virtual-thread executor is not closed explicitly
+        }
+    }
+
+    private ConfigurableApplicationContext boot(String[] args) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:examday;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.security.oauth2.client.registration.google.client-id", "load-test");
+        properties.put("spring.security.oauth2.client.registration.google.client-secret", "load-test");
+        properties.put("app.jwt.secret", Base64.getEncoder().encodeToString(secret));
+        properties.put("app.jwt.expiration-ms", TimeUnit.HOURS.toMillis(4));
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.pradata.app.load", "INFO");
+
+        return new SpringApplicationBuilder(QuizApplication.class)
+                .properties(properties) // Defaults only: -D system properties and args still win
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        if (bean instanceof DataSource target && "dataSource".equals(beanName)) {
+                            dataSource[0] = new QueryCountingDataSource(target);
+                            return dataSource[0];
+                        }
+                        return bean;
+                    }
+                }))
+                .run(args);
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        UserDao userDao = context.getBean(UserDao.class);
+        QuestionDao questionDao = context.getBean(QuestionDao.class);
+        QuizDao quizDao = context.getBean(QuizDao.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+
+        User faculty = new User();
+        faculty.setName("Load Faculty");
+        faculty.setEmail("load.faculty@nitw.ac.in");
+        faculty.setRole("Faculty");
+        faculty = userDao.save(faculty);
+
+        // Students are vs22<branch><nnnn>@student.nitw.ac.in; quiz q is assigned to branch q % BRANCHES
+        List<User> students = new ArrayList<>(STUDENTS);
+        tokens = new String[STUDENTS];
+        quizOfStudent = new int[STUDENTS];
+        for (int i = 0; i < STUDENTS; i++) {
+            User student = new User();
+            student.setName("Student " + i);
+            student.setEmail("vs22" + BRANCHES[i % BRANCHES.length] + String.format("%04d", i) + "@student.nitw.ac.in");
+            student.setRole("Student");
+            students.add(student);
+        }
+        userDao.saveAll(students);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> quizIds = new ArrayList<>(QUIZZES);
+        for (int q = 0; q < QUIZZES; q++) {
+            List<Question> questions = new ArrayList<>(QUESTIONS);
+            for (int i = 0; i < QUESTIONS; i++) {
+                Question question = new Question();
+                question.setCategory("Load");
+                question.setDifficultyLevel("Easy");
+                question.setQuestionTitle("Quiz " + q + " question " + i);
+                question.setOption1("A" + i);
+                question.setOption2("B" + i);
+                question.setOption3("C" + i);
+                question.setOption4("D" + i);
+                question.setRightAnswer("B" + i);
+                questions.add(question);
+            }
+            Quiz quiz = new Quiz();
+            quiz.setTitle("Exam " + q);
+            quiz.setSubject("Load");
+            quiz.setDurationInMinutes(60);
+            quiz.setTotalMarks(QUESTIONS);
+            quiz.setStatus("PUBLISHED");
+            quiz.setStartTime(now.minusMinutes(1));
+            quiz.setEndTime(now.plusHours(2));
+            quiz.setAssignmentCriteria(QUIZZES == 1 ? null : "22" + BRANCHES[q % BRANCHES.length]);
+            quiz.setCreatedBy(faculty);
+            quiz.setQuestions(questionDao.saveAll(questions));
+            quizIds.add(quizDao.save(quiz).getId());
+        }
+
+        for (int i = 0; i < STUDENTS; i++) {
+            tokens[i] = jwtUtil.generateToken(students.get(i).getEmail(), "Student");
+            quizOfStudent[i] = quizIds.get(QUIZZES == 1 ? 0 : (i % BRANCHES.length) % QUIZZES);
+        }
+    }
+
+    // Runs one action per student on virtual threads, all released together, and prints the phase report
+    private void phase(String name, EndpointStats stats, int students, IntConsumer action) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(students);
+        CountDownLatch go = new CountDownLatch(1);
+        long statementsBefore = dataSource[0].statements();
+        long executionsBefore = dataSource[0].executions();
+        long connectionsBefore = dataSource[0].connections();
+        long started;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int student = 0; student < students; student++) {
+                final int s = student;
+                executor.submit(() -> {
+                    ready.countDown();
+                    try {
+                        go.await();
+                        action.accept(s);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                });
+            }
+            ready.await();
+            started = System.nanoTime();
+            go.countDown();
+        } // close() waits for every student
+        long elapsed = System.nanoTime() - started;
+        long requests = Math.max(1, stats.count());
+        long executions = dataSource[0].executions() - executionsBefore;
+        System.out.println(stats.report(elapsed));
+        System.out.printf("    %s: %.1f s, JDBC statements %d prepared / %d executed (%.1f per request), %d connection checkouts%n",
+                name, elapsed / 1e9, dataSource[0].statements() - statementsBefore, executions,
+                (double) executions / requests, dataSource[0].connections() - connectionsBefore);
+    }
+
+    // Server-side view of the same run from the Micrometer meters
+    private static void printMeters(MeterRegistry registry) {
+        System.out.println();
+        for (String name : new String[] { "quiz.attempts.started", "quiz.submissions" }) {
+            registry.find(name).counters().forEach(counter -> System.out.printf("%-34s %-30s %8.0f%n",
+                    name, "quiz=" + counter.getId().getTag("quiz") + " " + counter.getId().getTag("outcome"), counter.count()));
+        }
+        for (String name : new String[] { "jwt.verify", "hikaricp.connections.acquire", "quiz.start.admission.wait" }) {
+            registry.find(name).timers().forEach(timer -> System.out.printf("%-34s %-30s %8d calls, mean %.2f ms, max %.2f ms%n",
+                    name, timer.getId().getTags().isEmpty() ? "" : timer.getId().getTags().get(0).getValue(), timer.count(),
+                    timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS)));
+        }
+    }
+
+    // Honours 503 + Retry-After from admission control a few times before giving up
+    private void startAttempt(int student, EndpointStats stats) {
+        HttpRequest request = post("/api/student/quizzes/" + quizOfStudent[student] + "/attempt", tokens[student], null);
+        for (int attempt = 0; attempt <= START_RETRIES; attempt++) {
+            HttpResponse<String> response = send(stats, request);
+            if (response == null) return;
+            if (response.statusCode() == 200) {
+                attempts.put(student, parseAttempt(response.body()));
+                return;
+            }
+            if (response.statusCode() != 503) return;
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+            sleep((int) (TimeUnit.SECONDS.toMillis(retryAfter) * ThreadLocalRandom.current().nextDouble(0.5, 1.0)));
+        }
+    }
+
+    // Keeps each question's right ("B...") and a wrong ("C...") option as rendered for this attempt
+    private StartedAttempt parseAttempt(String body) {
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            List<AnswerChoice> choices = new ArrayList<>();
+            for (JsonNode question : root.path("questions")) {
+                String right = null;
+                String wrong = null;
+                for (String field : new String[] { "option1", "option2", "option3", "option4" }) {
+                    String option = question.path(field).asText("");
+                    if (option.startsWith("B")) right = option;
+                    if (option.startsWith("C")) wrong = option;
+                }
+                choices.add(new AnswerChoice(question.path("id").asInt(), right, wrong));
+            }
+            return new StartedAttempt(root.path("attemptId").asLong(), choices);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected start response: " + body, e);
+        }
+    }
+
+    // About 70% right answers
+    private String answers(List<AnswerChoice> choices) {
+        List<Map<String, Object>> responses = new ArrayList<>(choices.size());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (AnswerChoice choice : choices) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("id", choice.questionId());
+            response.put("response", random.nextInt(10) < 7 ? choice.right() : choice.wrong());
+            responses.add(response);
+        }
+        try {
+            return objectMapper.writeValueAsString(responses);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpResponse<String> send(EndpointStats stats, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            stats.record(response.statusCode(), System.nanoTime() - start);
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            stats.recordFailure(System.nanoTime() - start);
+        }
+        return null;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record StartedAttempt(long attemptId, List<AnswerChoice> choices) {
+    }
+
+    private record AnswerChoice(int questionId, String right, String wrong) {
+    }
+}
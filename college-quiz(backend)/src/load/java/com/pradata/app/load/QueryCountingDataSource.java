@@ -0,0 +1,81 @@
+package com.pradata.app.load;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Counts JDBC statements (JPA and JdbcTemplate alike) and connection checkouts issued by the application
+final class QueryCountingDataSource extends DelegatingDataSource {
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong connections = new AtomicLong();
+
+    QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return count(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return count(super.getConnection(username, password));
+    }
+
+    long statements() {
+        return statements.get();
+    }
+
+    long executions() {
+        return executions.get();
+    }
+
+    long connections() {
+        return connections.get();
+    }
+
+    private Connection count(Connection connection) {
+        connections.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("prepareCall") || name.equals("createStatement")) {
+                        statements.incrementAndGet();
+                        return countExecutions((Statement) invoke(connection, method, args));
+                    }
+                    return invoke(connection, method, args);
+                });
+    }
+
+    // One execution per execute*/executeBatch call; a JDBC batch of N rows is one round trip
+    private Object countExecutions(Statement statement) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) executions.incrementAndGet();
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
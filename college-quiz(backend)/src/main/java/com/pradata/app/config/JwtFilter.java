@@ -1,5 +1,7 @@
 package com.pradata.app.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,21 +12,27 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import io.jsonwebtoken.ExpiredJwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtFilter.class);
     private final JwtUtil jwtUtil;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
 
-    public JwtFilter(JwtUtil jwtUtil) {
+    public JwtFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
+        this.verifiedTimer = Timer.builder("jwt.verify").tag("outcome", "valid")
+                .description("Time to verify a bearer token (cache hit or full parse)")
+                .register(meterRegistry);
+        this.rejectedTimer = Timer.builder("jwt.verify").tag("outcome", "invalid").register(meterRegistry);
     }
 
     @Override
@@ -33,14 +41,12 @@ public class JwtFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        System.out.println("JWT Filter: Processing request to " + request.getRequestURI());
+        log.trace("JWT Filter: Processing request to {}", request.getRequestURI());
         final String authHeader = request.getHeader("Authorization");
         final String token;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             log.trace("No JWT token found in request to {}", request.getRequestURI());
-            System.out.println("JWT Filter: No token found for " + request.getRequestURI());
             filterChain.doFilter(request, response);
             return;
         }
@@ -48,14 +54,15 @@ public class JwtFilter extends OncePerRequestFilter {
         token = authHeader.substring(7);
 
         try {
-            System.out.println("JWT Filter: Validating token for " + request.getRequestURI());
-            // Attempt to validate and extract email first
-            if (jwtUtil.validateToken(token)) {
-                userEmail = jwtUtil.extractEmail(token);
-                System.out.println("JWT Filter: Token valid, user email: " + userEmail);
+            // Single parse (or cache hit) yields email, role and expiry together
+            long verifyStart = System.nanoTime();
+            JwtPrincipal principal = jwtUtil.verify(token);
+            (principal != null ? verifiedTimer : rejectedTimer).record(System.nanoTime() - verifyStart, TimeUnit.NANOSECONDS);
+            if (principal != null) {
+                String userEmail = principal.getEmail();
                 // Check if userEmail is not null and if user is not already authenticated
                 if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    String role = jwtUtil.extractRole(token);
+                    String role = principal.getRole();
                     if (role != null) {
                         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                                 userEmail,
@@ -63,16 +70,14 @@ public class JwtFilter extends OncePerRequestFilter {
                                 Collections.singletonList(new SimpleGrantedAuthority(role))
                         );
                         SecurityContextHolder.getContext().setAuthentication(authentication);
-                        System.out.println("JWT Filter: Authenticated user " + userEmail + " with role " + role);
                         log.debug("Authenticated user {} with role {} for request to {}", userEmail, role, request.getRequestURI());
                     } else {
-                        System.out.println("JWT Filter: Role could not be extracted from token");
                         log.warn("Role could not be extracted from valid token for user {}", userEmail);
                     }
                 }
             } else {
-                System.out.println("JWT Filter: Token validation failed");
-                // validateToken logs specific errors (expired, signature etc.)
+                // verify() logs specific errors (expired, signature etc.)
+                log.debug("JWT Filter: Token validation failed for {}", request.getRequestURI());
                 SecurityContextHolder.clearContext();
             }
         } catch (Exception e) {
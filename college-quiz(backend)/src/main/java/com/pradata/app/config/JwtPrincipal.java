@@ -0,0 +1,21 @@
+package com.pradata.app.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Date;
+
+// Verified contents of a JWT: produced once per token by JwtUtil.verify
+@Getter
+@ToString
+@AllArgsConstructor
+public class JwtPrincipal {
+    private final String email;
+    private final String role;
+    private final Date expiration;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
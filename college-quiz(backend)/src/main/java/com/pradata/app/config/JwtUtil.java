@@ -2,6 +2,7 @@ package com.pradata.app.config;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -16,8 +17,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils; // Import StringUtils
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 public class JwtUtil {
@@ -30,7 +39,18 @@ public class JwtUtil {
     @Value("${app.jwt.expiration-ms}")
     private long jwtExpirationInMs;
 
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
     private SecretKey key;
+    private JwtParser parser; // Thread-safe, built once instead of per call
+
+    // Recently verified tokens keyed by SHA-256 digest, so repeat requests skip parsing and HMAC verification.
+    // Reads are lock-free; inserts and removals keep expiryOrder in step under cacheLock.
+    private final Map<String, JwtPrincipal> verifiedTokens = new ConcurrentHashMap<>();
+    private final TreeSet<Expiry> expiryOrder = new TreeSet<>(
+            Comparator.comparingLong(Expiry::expiresAtMillis).thenComparing(Expiry::digest));
+    private final ReentrantLock cacheLock = new ReentrantLock();
 
     @PostConstruct
     public void init() {
@@ -46,6 +66,7 @@ public class JwtUtil {
                 throw new IllegalArgumentException("JWT secret key size is insufficient for HS256.");
             }
             this.key = Keys.hmacShaKeyFor(keyBytes);
+            this.parser = Jwts.parserBuilder().setSigningKey(key).build();
             log.info("JWT Secret Key initialized successfully.");
         } catch (IllegalArgumentException e) {
             log.error("Invalid Base64 encoding for JWT secret or key size insufficient!", e);
@@ -73,11 +94,80 @@ public class JwtUtil {
 
     private Claims extractAllClaims(String token) throws ExpiredJwtException, UnsupportedJwtException, MalformedJwtException, SignatureException, IllegalArgumentException {
         // Centralized extraction, throws specific exceptions on failure
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Verifies the token once and returns its principal (email, role, expiry), or null if it is invalid or expired.
+     * Verified tokens are cached by digest until they expire, so the same token is only parsed once.
+     */
+    public JwtPrincipal verify(String token) {
+        if (!StringUtils.hasText(token)) return null;
+        String digest = digest(token);
+        JwtPrincipal cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired()) return cached;
+            evict(digest, cached);
+            log.debug("JWT token is expired (cached principal for {})", cached.getEmail()); // Routine: the client logs in again
+            return null;
+        }
+        try {
+            Claims claims = extractAllClaims(token);
+            JwtPrincipal principal = new JwtPrincipal(claims.getSubject(), claims.get("role", String.class), claims.getExpiration());
+            cacheVerified(digest, principal);
+            return principal;
+        } catch (SignatureException e) {
+            log.error("Invalid JWT signature: {}", e.getMessage());
+        } catch (MalformedJwtException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+        } catch (ExpiredJwtException e) {
+            log.debug("JWT token is expired: {}", e.getMessage());
+        } catch (UnsupportedJwtException e) {
+            log.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            log.error("JWT claims string is empty or token is null: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    // When full, drops the tokens that expire first: expired ones go before any live one, and a live token
+    // only loses its entry to tokens that outlive it
+    private void cacheVerified(String digest, JwtPrincipal principal) {
+        cacheLock.lock();
+        try {
+            if (verifiedTokens.putIfAbsent(digest, principal) != null) return; // Verified concurrently
+            expiryOrder.add(new Expiry(expiresAtMillis(principal), digest));
+            while (verifiedTokens.size() > verifiedCacheSize) {
+                verifiedTokens.remove(expiryOrder.pollFirst().digest());
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void evict(String digest, JwtPrincipal principal) {
+        cacheLock.lock();
+        try {
+            if (verifiedTokens.remove(digest, principal)) expiryOrder.remove(new Expiry(expiresAtMillis(principal), digest));
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private static long expiresAtMillis(JwtPrincipal principal) {
+        return principal.getExpiration() != null ? principal.getExpiration().getTime() : Long.MAX_VALUE;
+    }
+
+    private record Expiry(long expiresAtMillis, String digest) {
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     public String extractEmail(String token) {
@@ -118,7 +208,7 @@ public class JwtUtil {
     // Validates signature, expiration, format etc.
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (SignatureException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
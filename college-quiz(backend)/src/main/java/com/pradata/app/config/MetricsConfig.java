@@ -0,0 +1,53 @@
+package com.pradata.app.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Micrometer wiring for the hot paths: @Timed support on the services and percentile histograms
+ * (for p95/p99 alerting) on the timers that tell which stage saturates first during an exam:
+ * request handling, service methods, JWT verification, repository calls and connection-pool waits.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final List<String> HISTOGRAM_PREFIXES = List.of(
+            "http.server.requests",
+            "quiz.service",
+            "question.service",
+            "jwt.verify",
+            "spring.data.repository.invocations", // Per-repository/method calls, auto-instrumented by Spring Boot
+            "hikaricp.connections.acquire");      // Connection-pool wait time
+
+    // Enables @Timed on Spring beans (QuizService, QuestionService)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterFilter hotPathHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || HISTOGRAM_PREFIXES.stream().noneMatch(id.getName()::startsWith)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.pradata.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-in-view, registered here instead of by Spring Boot (spring.jpa.open-in-view=false) so one path can opt out.
+ * Controllers still serialise lazy entities, so every request keeps its EntityManager (and JDBC connection) until
+ * the response is written, except the submit endpoint in async mode: it waits up to app.submission.await-ms for the
+ * grading workers after acceptSubmission commits, and must not pin a pool connection they need meanwhile.
+ * It returns only a score, so nothing is loaded lazily after its transaction.
+ */
+@Configuration
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    private static final String SUBMIT_PATH = "/api/student/quizzes/attempt/*/submit";
+
+    @Value("${app.submission.mode:sync}")
+    private String submissionMode;
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor(); // Finds the EntityManagerFactory through the bean factory
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        InterceptorRegistration registration = registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor());
+        if ("async".equalsIgnoreCase(submissionMode)) registration.excludePathPatterns(SUBMIT_PATH);
+    }
+}
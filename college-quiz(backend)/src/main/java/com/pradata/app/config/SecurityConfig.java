@@ -2,6 +2,9 @@ package com.pradata.app.config;
 
 import com.pradata.app.service.CustomOAuth2UserService;
 import com.pradata.app.service.UserService;
+import jakarta.servlet.DispatcherType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +16,11 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,11 +32,19 @@ import java.util.List;
 @EnableMethodSecurity // Enable @PreAuthorize
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Autowired private JwtFilter jwtFilter;
     @Autowired private CustomOAuth2UserService customOAuth2UserService;
     @Autowired private UserService userService;
     @Autowired private JwtUtil jwtUtil;
 
+    private static RequestMatcher asyncDispatchOf(HttpMethod method, String... patterns) {
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+        RequestMatcher[] endpoints = Arrays.stream(patterns).map(pattern -> paths.matcher(method, pattern)).toArray(RequestMatcher[]::new);
+        return new AndRequestMatcher(new DispatcherTypeRequestMatcher(DispatcherType.ASYNC), new OrRequestMatcher(endpoints));
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -36,15 +52,21 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(requests -> requests
+                        // JwtFilter does not run again on the async dispatch that completes a streaming response, so it
+                        // carries no authentication; the initial request to these endpoints was authorised by the rules below
+                        .requestMatchers(asyncDispatchOf(HttpMethod.GET, "/api/quizzes/{quizId}/submissions/live", "/api/quizzes/{quizId}/submissions/export")).permitAll()
                         .requestMatchers("/auth/**", "/login/**", "/oauth2/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("Admin") // Metrics/Prometheus scrape needs an Admin token
                         .requestMatchers("/api/admin/**").hasAuthority("Admin")
-                        .requestMatchers(HttpMethod.POST, "/api/quizzes", "/api/questions/**").hasAnyAuthority("Faculty", "Admin")
+                        .requestMatchers(HttpMethod.POST, "/api/quizzes", "/api/quizzes/generate", "/api/questions/**").hasAnyAuthority("Faculty", "Admin")
                         .requestMatchers(HttpMethod.PUT, "/api/quizzes/**", "/api/questions/**").hasAnyAuthority("Faculty", "Admin")
                         .requestMatchers(HttpMethod.DELETE, "/api/quizzes/**", "/api/questions/**").hasAnyAuthority("Faculty", "Admin")
-                        .requestMatchers(HttpMethod.GET, "/api/quizzes", "/api/quizzes/{quizId}/submissions").hasAnyAuthority("Faculty", "Admin")
+                        .requestMatchers(HttpMethod.GET, "/api/quizzes", "/api/quizzes/{quizId}/submissions", "/api/quizzes/{quizId}/submissions/export", "/api/quizzes/{quizId}/submissions/live", "/api/quizzes/{quizId}/leaderboard", "/api/quizzes/{quizId}/stats").hasAnyAuthority("Faculty", "Admin")
                         .requestMatchers(HttpMethod.GET, "/api/questions/**").hasAnyAuthority("Faculty", "Admin")
                         .requestMatchers("/api/student/**").hasAuthority("Student")
                         .requestMatchers("/api/quizzes/assigned-to-me").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/quizzes/{quizId}").hasAnyAuthority("Faculty", "Admin") // After assigned-to-me, which it would also match
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().permitAll()
                 )
@@ -70,7 +92,7 @@ public class SecurityConfig {
         http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
         
         // Add some debugging
-        System.out.println("Security configuration loaded successfully");
+        log.info("Security configuration loaded successfully");
         
         return http.build();
     }
@@ -0,0 +1,52 @@
+package com.pradata.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Extras for the virtual-thread execution mode (spring.threads.virtual.enabled=true).
+ * Spring Boot already runs Tomcat requests and the application task executor (@Async, scheduling) on virtual
+ * threads in that mode; this adds a JDBC-aware concurrency limit so an unbounded number of virtual threads
+ * cannot overrun the connection pool.
+ * <p>
+ * ExamDayLoadSimulator, 2000 students, sync grading, H2, 1 CPU (second of two runs each, platform vs virtual):
+ * <pre>
+ *   assigned-to-me   349 vs 393 req/s   p99  7.6 s vs  7.5 s
+ *   start            150 vs 191 req/s   p99 13.1 s vs 10.3 s
+ *   submit           264 vs 270 req/s   p99  5.7 s vs  5.7 s
+ * </pre>
+ * The gain comes from queueing on the connection limit instead of in Hikari (mean acquire ~120-200 ms vs
+ * ~0 ms); H2 on one core is the bottleneck either way, so re-measure against Postgres before relying on it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    // static: BeanPostProcessors are created before regular beans
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        // Defaults match Hikari (10 connections, 30 s connection timeout)
+        int maxConnections = environment.getProperty("app.datasource.max-concurrent-connections", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long waitMillis = environment.getProperty("app.datasource.connection-wait-ms", Long.class, 30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    log.info("Virtual threads enabled: limiting DataSource '{}' to {} concurrent connections", beanName, maxConnections);
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, waitMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,8 +1,11 @@
 package com.pradata.app.controller;
 
-import com.pradata.app.model.Quiz;
+import com.pradata.app.model.KeysetPage;
+import com.pradata.app.model.QuizSummaryDto;
 import com.pradata.app.model.UserDto;
 import com.pradata.app.service.AdminService;
+import com.pradata.app.service.QuestionItemStats;
+import com.pradata.app.service.QuizStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,12 +21,28 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private QuizStatisticsService quizStatisticsService;
+
+    @Autowired
+    private QuestionItemStats questionItemStats;
+
     // --- User Management ---
+    // Deprecated: capped at KeysetPage.LEGACY_LIST_CAP rows; use /users/page
+    @Deprecated
     @GetMapping("/users")
     public ResponseEntity<List<UserDto>> getAllUsers() {
         return adminService.getAllUsers();
     }
 
+    // Keyset-paginated version of /users: ?after=<nextCursor>&limit=&role=
+    @GetMapping("/users/page")
+    public ResponseEntity<KeysetPage<UserDto>> getUserPage(@RequestParam(required = false) Long after,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           @RequestParam(required = false) String role) {
+        return adminService.getUserPage(after, limit, role);
+    }
+
     @DeleteMapping("/users/{userId}")
     public ResponseEntity<String> deleteUser(@PathVariable Long userId) {
         return adminService.deleteUser(userId);
@@ -36,12 +55,35 @@ public class AdminController {
 
     // --- Quiz Management Overrides ---
     @GetMapping("/quizzes")
-    public ResponseEntity<List<Quiz>> getAllQuizzes() {
+    public ResponseEntity<List<QuizSummaryDto>> getAllQuizzes() {
         return adminService.getAllQuizzes();
     }
 
+    // Keyset-paginated version of /quizzes: ?after=<nextCursor>&limit=&status=&creatorId=
+    @GetMapping("/quizzes/page")
+    public ResponseEntity<KeysetPage<QuizSummaryDto>> getQuizPage(@RequestParam(required = false) Integer after,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  @RequestParam(required = false) String status,
+                                                                  @RequestParam(required = false) Long creatorId) {
+        return adminService.getQuizPage(after, limit, status, creatorId);
+    }
+
     @DeleteMapping("/quizzes/{quizId}")
     public ResponseEntity<String> deleteAnyQuiz(@PathVariable Integer quizId) {
         return adminService.deleteAnyQuiz(quizId);
     }
-}
\ No newline at end of file
+
+    // Recomputes every quiz's statistics from quiz_attempts (also runs nightly)
+    @PostMapping("/quizzes/stats/rebuild")
+    public ResponseEntity<String> rebuildQuizStatistics() {
+        return quizStatisticsService.rebuildAll();
+    }
+
+    // Recomputes per-question item analytics from all stored answers in a parallel pass
+    @PostMapping("/questions/stats/rebuild")
+    public ResponseEntity<String> rebuildQuestionStatistics() {
+        long startNanos = System.nanoTime();
+        int questions = questionItemStats.rebuild();
+        return ResponseEntity.ok("Rebuilt item statistics of " + questions + " questions in " + (System.nanoTime() - startNanos) / 1_000_000 + " ms");
+    }
+}
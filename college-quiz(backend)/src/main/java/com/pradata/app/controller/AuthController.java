@@ -1,5 +1,6 @@
 package com.pradata.app.controller;
 
+import com.pradata.app.config.JwtPrincipal;
 import com.pradata.app.config.JwtUtil;
 import com.pradata.app.model.QuizMasterRequestDto; // Consider renaming DTO
 import com.pradata.app.model.UserDto;
@@ -35,7 +36,9 @@ public class AuthController {
     @GetMapping("/me")
     public ResponseEntity<UserDto> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
         String token = authHeader.replace("Bearer ", "");
-        String email = jwtUtil.extractEmail(token);
+        JwtPrincipal principal = jwtUtil.verify(token); // Usually a cache hit: the filter verified this token already
+        // Fall back to reading the subject of an expired token, as before
+        String email = principal != null ? principal.getEmail() : jwtUtil.extractEmail(token);
         if (email == null) {
             // If email extraction failed (e.g., token invalid/expired and filter didn't catch?)
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired token");
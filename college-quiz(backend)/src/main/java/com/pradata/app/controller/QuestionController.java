@@ -1,11 +1,20 @@
 package com.pradata.app.controller;
 
+import com.pradata.app.model.KeysetPage;
 import com.pradata.app.model.Question;
+import com.pradata.app.model.QuestionImportReport;
+import com.pradata.app.model.QuestionSearchResult;
+import com.pradata.app.model.QuestionStatisticsDto;
+import com.pradata.app.service.QuestionImportService;
 import com.pradata.app.service.QuestionService;
 import jakarta.validation.Valid; // Import jakarta validation
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -14,11 +23,46 @@ public class QuestionController {
     @Autowired
     QuestionService questionService;
 
+    @Autowired
+    QuestionImportService questionImportService;
+
+    // Deprecated: capped at KeysetPage.LEGACY_LIST_CAP rows; use /page
+    @Deprecated
     @GetMapping("/all")
     public ResponseEntity<List<Question>> getAllQuestions(){
         return questionService.getAllQuestions();
     }
 
+    // Keyset-paginated version of /all: ?after=<nextCursor>&limit=&category=&difficulty=
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Question>> getQuestionPage(@RequestParam(required = false) Integer after,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) String category,
+                                                                @RequestParam(required = false) String difficulty) {
+        return questionService.getQuestionPage(after, limit, category, difficulty);
+    }
+
+    // Ranked search over titles and options: ?q=&category=&difficulty=&page=&size=
+    @GetMapping("/search")
+    public ResponseEntity<QuestionSearchResult> searchQuestions(@RequestParam String q,
+                                                                @RequestParam(required = false) String category,
+                                                                @RequestParam(required = false) String difficulty,
+                                                                @RequestParam(required = false) Integer page,
+                                                                @RequestParam(required = false) Integer size) {
+        return questionService.searchQuestions(q, category, difficulty, page, size);
+    }
+
+    // Item analytics (percent correct, option picks, discrimination) for up to 200 questions: ?ids=1,2,3
+    @GetMapping("/stats")
+    public ResponseEntity<List<QuestionStatisticsDto>> getQuestionStatistics(@RequestParam List<Integer> ids) {
+        return questionService.getQuestionStatistics(ids);
+    }
+
+    @GetMapping("/{id:\\d+}/stats")
+    public ResponseEntity<QuestionStatisticsDto> getQuestionStatistics(@PathVariable int id) {
+        return questionService.getQuestionStatistics(id);
+    }
+
     @GetMapping("/category/{category}")
     public ResponseEntity<List<Question>> getQuestionsByCategory(@PathVariable String category){
         return questionService.getQuestionsByCategory(category);
@@ -29,6 +73,15 @@ public class QuestionController {
         return questionService.addQuestion(question);
     }
 
+    // Bulk import from a streamed CSV (header row with Question field names) or JSON array; returns a per-row report
+    @PostMapping(value = "/import", consumes = { "text/csv", "text/plain", MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<QuestionImportReport> importQuestions(InputStream body,
+                                                                @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                @RequestParam(required = false) String format) {
+        boolean json = format != null ? "json".equalsIgnoreCase(format) : contentType.contains("json");
+        return questionImportService.importQuestions(body, json);
+    }
+
     @PutMapping("/replace/{id}")
     public ResponseEntity<String> replaceQuestion(@PathVariable int id, @Valid @RequestBody Question updatedQuestion){ // Add @Valid
         return questionService.replaceQuestion(id,updatedQuestion);
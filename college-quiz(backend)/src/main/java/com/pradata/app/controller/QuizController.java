@@ -1,15 +1,26 @@
 package com.pradata.app.controller;
 
+import com.pradata.app.model.LeaderboardDto;
 import com.pradata.app.model.Quiz;
+import com.pradata.app.model.QuizBlueprintDto;
 import com.pradata.app.model.QuizRequestDto;
+import com.pradata.app.model.QuizStatisticsDto;
+import com.pradata.app.model.QuizSummaryDto;
 import com.pradata.app.model.SubmissionResultDto;
+import com.pradata.app.service.QuizLiveFeed;
 import com.pradata.app.service.QuizService;
+import com.pradata.app.service.QuizStatisticsService;
+import com.pradata.app.service.SubmissionExportService;
 import jakarta.validation.Valid; // Import jakarta validation
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.util.List;
 
 @RestController
@@ -19,6 +30,15 @@ public class QuizController {
     @Autowired
     private QuizService quizService;
 
+    @Autowired
+    private SubmissionExportService submissionExportService;
+
+    @Autowired
+    private QuizStatisticsService quizStatisticsService;
+
+    @Autowired
+    private QuizLiveFeed quizLiveFeed;
+
     // --- Faculty/Admin Actions ---
 
     @PostMapping // Create new quiz
@@ -27,6 +47,12 @@ public class QuizController {
         return quizService.createOrUpdateQuiz(null,quiz, authentication.getName());
     }
 
+    // Create a quiz from a blueprint, e.g. 10 Easy + 5 Hard from Algorithms and 5 from DBMS
+    @PostMapping("/generate")
+    public ResponseEntity<?> generateQuiz(@Valid @RequestBody QuizBlueprintDto blueprint, Authentication authentication) {
+        return quizService.generateQuizFromBlueprint(blueprint, authentication.getName());
+    }
+
     @PutMapping("/{id}") // Update existing quiz
     public ResponseEntity<Quiz> updateQuiz(@PathVariable Integer id, @Valid @RequestBody QuizRequestDto quiz, Authentication authentication) { // Add @Valid
 
@@ -34,10 +60,15 @@ public class QuizController {
     }
 
     @GetMapping // Get quizzes created by logged-in Faculty/Admin
-    public ResponseEntity<List<Quiz>> getQuizzesForFaculty(Authentication authentication) {
+    public ResponseEntity<List<QuizSummaryDto>> getQuizzesForFaculty(Authentication authentication) {
         return quizService.getQuizzesByCreator(authentication.getName());
     }
 
+    @GetMapping("/{id:\\d+}") // Full quiz with questions for editing (owner or Admin)
+    public ResponseEntity<Quiz> getQuizForEditing(@PathVariable Integer id, Authentication authentication) {
+        return quizService.getQuizForEditing(id, authentication.getName());
+    }
+
     @DeleteMapping("/{id}") // Delete quiz (owner or Admin)
     public ResponseEntity<String> deleteQuiz(@PathVariable Integer id, Authentication authentication) {
         return quizService.deleteQuiz(id, authentication.getName());
@@ -48,10 +79,38 @@ public class QuizController {
         return quizService.getSubmissionsForQuiz(quizId, authentication.getName());
     }
 
+    // Top submissions with rank (ties share a rank), ?limit= up to 100 (owner or Admin)
+    @GetMapping("/{quizId}/leaderboard")
+    public ResponseEntity<LeaderboardDto> getLeaderboard(@PathVariable Integer quizId,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         Authentication authentication) {
+        return quizService.getLeaderboard(quizId, limit, authentication.getName());
+    }
+
+    // Count, mean, deviation, min/max, percentiles and score histogram from the materialized aggregate (owner or Admin)
+    @GetMapping("/{quizId}/stats")
+    public ResponseEntity<QuizStatisticsDto> getQuizStatistics(@PathVariable Integer quizId, Authentication authentication) {
+        return quizStatisticsService.getStatistics(quizId, authentication.getName());
+    }
+
+    // Server-sent "stats" events with started/submitted/late/average counters, at most one per second (owner or Admin)
+    @GetMapping(value = "/{quizId}/submissions/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> watchSubmissions(@PathVariable Integer quizId, Authentication authentication) {
+        return quizLiveFeed.subscribe(quizId, authentication.getName());
+    }
+
     // --- Endpoint for ALL Authenticated Users ---
 
+    // Streams all submissions as CSV (default) or NDJSON (?format=ndjson) without loading them into memory (owner or Admin)
+    @GetMapping("/{quizId}/submissions/export")
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(@PathVariable Integer quizId,
+                                                                   @RequestParam(required = false) String format,
+                                                                   Authentication authentication) {
+        return submissionExportService.exportSubmissions(quizId, format, authentication.getName());
+    }
+
     @GetMapping("/assigned-to-me") // View quizzes assigned to the logged-in user
-    public ResponseEntity<List<Quiz>> getMyAssignedQuizzes(Authentication authentication) {
+    public ResponseEntity<List<QuizSummaryDto>> getMyAssignedQuizzes(Authentication authentication) {
         return quizService.getAssignedQuizzesForUser(authentication.getName());
     }
 }
\ No newline at end of file
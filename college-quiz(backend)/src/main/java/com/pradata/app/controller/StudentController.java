@@ -1,11 +1,17 @@
 package com.pradata.app.controller;
 
+import com.pradata.app.exception.AdmissionRejectedException;
 import com.pradata.app.model.QuizAttempt;
 import com.pradata.app.model.Response;
+import com.pradata.app.service.QuizMetrics;
+import com.pradata.app.service.AttemptAutosave;
 import com.pradata.app.service.QuizService;
+import com.pradata.app.service.StartQuizAdmissionGate;
+import com.pradata.app.service.SubmissionPipeline;
 import jakarta.validation.Valid; // Import jakarta validation
 import jakarta.validation.constraints.NotEmpty; // Import validation constraint
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated; // Import for validating lists
@@ -21,25 +27,68 @@ public class StudentController {
     @Autowired
     private QuizService quizService;
 
+    @Autowired
+    private SubmissionPipeline submissionPipeline;
+
+    @Autowired
+    private StartQuizAdmissionGate startQuizAdmissionGate;
+
+    @Autowired
+    private QuizMetrics quizMetrics;
+
+    @Autowired
+    private AttemptAutosave attemptAutosave;
+
     // Students use /api/quizzes/assigned-to-me to see available quizzes
 
     @PostMapping("/quizzes/{id}/attempt")
     public ResponseEntity<?> startQuizAttempt(@PathVariable int id, Authentication authentication) {
-        return quizService.startQuiz(id, authentication.getName());
+        // Bounded, fair per-quiz admission; rejected callers get 503 + Retry-After (GlobalExceptionHandler)
+        ResponseEntity<?> response;
+        try {
+            response = startQuizAdmissionGate.admit(id, () -> quizService.startQuiz(id, authentication.getName()));
+        } catch (AdmissionRejectedException e) {
+            quizMetrics.recordStartRejected(id);
+            throw e;
+        }
+        quizMetrics.recordStart(id, response.getStatusCode());
+        return response;
     }
 
     @PostMapping("/quizzes/attempt/{attemptId}/submit")
     public ResponseEntity<Integer> submitQuiz(@PathVariable Long attemptId,
                                               @RequestBody @NotEmpty List<@Valid Response> responses, // Add validation
                                               Authentication authentication) {
+        if (submissionPipeline.isEnabled()) {
+            // Async mode: record now, grade in a batch; wait briefly for the score, else 202 + result location
+            ResponseEntity<Integer> accepted = quizService.acceptSubmission(attemptId, responses, authentication.getName());
+            if (accepted.getStatusCode() != HttpStatus.ACCEPTED) {
+                return accepted;
+            }
+            return submissionPipeline.awaitResult(attemptId);
+        }
         return quizService.calculateResult(attemptId, responses, authentication.getName());
     }
 
+    // Changed answers since the last autosave (null response clears one); 202 once merged, written to the DB within seconds
+    @PutMapping("/quizzes/attempt/{attemptId}/autosave")
+    public ResponseEntity<String> autosaveQuiz(@PathVariable Long attemptId,
+                                               @RequestBody @NotEmpty List<@Valid Response> deltas,
+                                               Authentication authentication) {
+        return attemptAutosave.save(attemptId, deltas, authentication.getName());
+    }
+
     @GetMapping("/attempts/{attemptId}")
     public ResponseEntity<?> getMySubmission(@PathVariable Long attemptId, Authentication authentication) {
         return quizService.getStudentAttempt(attemptId, authentication.getName());
     }
 
+    // Rank and percentile of the caller's graded submission
+    @GetMapping("/quizzes/{quizId}/rank")
+    public ResponseEntity<?> getMyRank(@PathVariable Integer quizId, Authentication authentication) {
+        return quizService.getMyRank(quizId, authentication.getName());
+    }
+
     @GetMapping("/attempts/my-attempts")
     public ResponseEntity<?> getMyPastAttempts(Authentication authentication) {
         return quizService.getMyAttempts(authentication.getName());
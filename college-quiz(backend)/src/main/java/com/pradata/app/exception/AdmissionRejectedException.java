@@ -0,0 +1,15 @@
+package com.pradata.app.exception;
+
+// Thrown when a request could not be admitted within its wait budget; mapped to 503 + Retry-After
+public class AdmissionRejectedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,51 @@
+package com.pradata.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// One page of a keyset (cursor) listing ordered by ID; pass nextCursor back as ?after= to get the next page
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    // Hard cap for the deprecated unpaged listings (/api/questions/all, /api/admin/users)
+    public static final int LEGACY_LIST_CAP = 5000;
+
+    private List<T> items;
+    private Long nextCursor; // null on the last page
+    private int limit;
+
+    // Keeps page sizes within 1..MAX_LIMIT whatever the client asks for
+    public static int clampLimit(Integer limit) {
+        if (limit == null) return DEFAULT_LIMIT;
+        return Math.max(1, Math.min(MAX_LIMIT, limit));
+    }
+
+    // Rows must have been fetched with limit + 1: the extra row only signals that another page exists
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, ToLongFunction<T> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null, limit);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, idOf.applyAsLong(items.get(limit - 1)), limit);
+    }
+
+    // Response for a deprecated unpaged listing: points clients at the paged endpoint and flags truncation
+    public static <T> ResponseEntity<List<T>> legacyList(List<T> rows, String successor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Deprecation", "true");
+        headers.add(HttpHeaders.LINK, "<" + successor + ">; rel=\"successor-version\"");
+        if (rows.size() > LEGACY_LIST_CAP) {
+            headers.add("X-Result-Truncated", "true");
+            rows = rows.subList(0, LEGACY_LIST_CAP);
+        }
+        return new ResponseEntity<>(rows, headers, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,29 @@
+package com.pradata.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Top submissions of a quiz; ties share a rank and the earlier submission is listed first
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardDto {
+    private Integer quizId;
+    private long totalSubmissions;
+    private List<Entry> entries;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Entry {
+        private int rank;
+        private String studentName;
+        private String studentEmail;
+        private Integer score;
+        private LocalDateTime submissionTime;
+    }
+}
@@ -0,0 +1,21 @@
+package com.pradata.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One frame of the live submission feed of a quiz (GET /api/quizzes/{quizId}/submissions/live)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LiveQuizStatsDto {
+    private Integer quizId;
+    private long started; // Attempts created (resumes are not counted again)
+    private long submitted; // Including late submissions
+    private long late;
+    private long graded; // Submissions with a score; async submissions count once graded
+    private Double averageScore; // Over graded submissions, null until the first one
+    private LocalDateTime asOf;
+}
@@ -4,12 +4,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank; // Add validation imports
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
 @Entity
+@Table(indexes = { // Filtered keyset pages (QuestionDao.findPageAfter)
+        @Index(name = "idx_question_category_id", columnList = "category, id"),
+        @Index(name = "idx_question_difficulty_id", columnList = "difficulty_level, id")
+})
 public class Question {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,39 @@
+package com.pradata.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk question import; only the first MAX_ERRORS row errors are listed
+@Data
+@NoArgsConstructor
+public class QuestionImportReport {
+    public static final int MAX_ERRORS = 1000;
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+    private long durationMs;
+
+    public void addError(long row, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(row, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row; // CSV: line number in the file; JSON: 1-based array index
+        private String message;
+    }
+}
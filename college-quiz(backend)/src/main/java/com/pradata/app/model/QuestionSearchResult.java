@@ -0,0 +1,31 @@
+package com.pradata.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of ranked question-bank search hits; total counts every match, not just this page
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuestionSearchResult {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    public static final int MAX_OFFSET = 10_000; // Deep pages cost a larger top-k heap; refine the query instead
+
+    private String query;
+    private int total;
+    private int page;
+    private int size;
+    private List<Hit> hits;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Hit {
+        private Question question;
+        private double score;
+    }
+}
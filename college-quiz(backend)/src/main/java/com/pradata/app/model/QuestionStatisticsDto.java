@@ -0,0 +1,31 @@
+package com.pradata.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Item analytics of one question over all graded answers (served from QuestionItemStats counters)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuestionStatisticsDto {
+    private Integer questionId;
+    private long attempts;
+    private long correct;
+    private Double percentCorrect; // Null until the question has been answered
+    private Double discrimination; // Point-biserial correlation with the attempt's fraction correct, -1..1
+    private long unanswered;
+    private List<OptionCount> options; // The question's options, in order
+    private long otherPicks; // Submitted answers matching none of the options
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class OptionCount {
+        private String option;
+        private long picks;
+        private boolean correct;
+    }
+}
@@ -15,6 +15,10 @@ import java.util.List;
 
 @Entity
 @Data
+@Table(indexes = { // Filtered keyset pages (QuizDao.findPageAfter)
+        @Index(name = "idx_quiz_status_id", columnList = "status, id"),
+        @Index(name = "idx_quiz_creator_id", columnList = "created_by_user_id, id")
+})
 public class Quiz {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,5 +1,6 @@
 package com.pradata.app.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,7 +11,11 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "quiz_attempts")
+@Table(name = "quiz_attempts", indexes = {
+        @Index(name = "idx_quiz_attempts_quiz_submitted", columnList = "quiz_id, submission_time"), // Per-quiz submission listings/exports
+        @Index(name = "idx_quiz_attempts_student_submitted", columnList = "student_id, submission_time"), // Attempt history per student
+        @Index(name = "idx_quiz_attempts_quiz_score", columnList = "quiz_id, score") // Leaderboard load (score histogram, top entries)
+})
 public class QuizAttempt {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,4 +32,21 @@ public class QuizAttempt {
     private Integer score;
     private LocalDateTime startTime;
     private LocalDateTime submissionTime;
+
+    // Seed for this attempt's question/option order (see QuizPaper.render)
+    private Long paperSeed;
+
+    // Responses recorded by an async submission until the grading pipeline scores them (then cleared)
+    @JsonIgnore
+    @Column(columnDefinition = "TEXT")
+    private String pendingResponses;
+
+    // Why the grading pipeline could not score this submission (scored 0, responses kept for a regrade); null otherwise
+    @JsonIgnore
+    private String gradingError;
+
+    // Autosaved answers of an in-progress attempt (AttemptAutosave), cleared on submit
+    @JsonIgnore
+    @Column(columnDefinition = "TEXT")
+    private String savedAnswers;
 }
\ No newline at end of file
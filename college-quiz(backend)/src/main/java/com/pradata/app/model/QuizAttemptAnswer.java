@@ -0,0 +1,31 @@
+package com.pradata.app.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+// One graded answer of a submitted attempt (written in JDBC batches by AttemptAnswerStore)
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "quiz_attempt_answers", indexes = {
+        @Index(name = "idx_attempt_answers_attempt", columnList = "attempt_id"),
+        @Index(name = "idx_attempt_answers_question", columnList = "question_id")
+})
+public class QuizAttemptAnswer {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "attempt_id", nullable = false)
+    private Long attemptId;
+
+    @Column(name = "question_id", nullable = false)
+    private Integer questionId;
+
+    private String chosenOption;
+
+    private boolean correct;
+}
@@ -0,0 +1,37 @@
+package com.pradata.app.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.util.List;
+
+// Quiz details plus sections like "10 Easy from Algorithms"; the generated question IDs replace quiz.questionIds
+@Data
+public class QuizBlueprintDto {
+
+    @NotNull
+    @Valid
+    private QuizRequestDto quiz;
+
+    @NotEmpty(message = "Blueprint needs at least one section")
+    @Size(max = 50)
+    private List<@Valid Section> sections;
+
+    private Long seed; // Optional: same seed and same question bank give the same paper
+
+    @Data
+    public static class Section {
+        @NotBlank(message = "Section category cannot be blank")
+        @Size(max = 100)
+        private String category;
+
+        @Size(max = 50)
+        private String difficulty; // null = any difficulty
+
+        @NotNull
+        @Min(value = 1)
+        @Max(value = 500)
+        private Integer count;
+    }
+}
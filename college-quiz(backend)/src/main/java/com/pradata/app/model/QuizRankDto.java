@@ -0,0 +1,17 @@
+package com.pradata.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The caller's standing in a quiz: rank 1 is the best score, percentile = share of submissions scoring lower (ties count half)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuizRankDto {
+    private Integer quizId;
+    private Integer score;
+    private int rank;
+    private long totalSubmissions;
+    private double percentile;
+}
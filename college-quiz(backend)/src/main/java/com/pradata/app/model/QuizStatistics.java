@@ -0,0 +1,34 @@
+package com.pradata.app.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Materialized score statistics of one quiz (maintained by QuizStatisticsService, written in JDBC batches)
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "quiz_statistics")
+public class QuizStatistics {
+    @Id
+    @Column(name = "quiz_id")
+    private Integer quizId;
+
+    private long submissionCount;
+
+    private long scoreSum;
+
+    private Integer minScore;
+
+    private Integer maxScore;
+
+    // Submission count per score, comma separated and indexed by score (0,1,2,...); mergeable by adding
+    @Column(columnDefinition = "TEXT")
+    private String scoreHistogram;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.pradata.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Score statistics of a quiz's graded submissions; percentiles use the nearest-rank method on the exact histogram
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuizStatisticsDto {
+    private Integer quizId;
+    private long submissionCount;
+    private Double mean;
+    private Double standardDeviation;
+    private Integer minScore;
+    private Integer maxScore;
+    private Integer median;
+    private Integer p25;
+    private Integer p75;
+    private Integer p90;
+    private List<ScoreBucket> histogram; // Only scores that occur
+    private LocalDateTime updatedAt;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ScoreBucket {
+        private int score;
+        private long count;
+    }
+}
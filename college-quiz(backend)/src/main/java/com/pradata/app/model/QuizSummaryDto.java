@@ -0,0 +1,29 @@
+package com.pradata.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Quiz row for list endpoints: no question entities, just how many there are (counted in SQL), and the creator's
+// ID, name and role instead of the User entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuizSummaryDto {
+    private Integer id;
+    private String title;
+    private String description;
+    private String subject;
+    private Integer durationInMinutes;
+    private Integer totalMarks;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String status;
+    private String assignmentCriteria;
+    private Integer questionCount;
+    private Long creatorId; // Null when the creator was deleted
+    private String creatorName;
+    private String creatorRole;
+}
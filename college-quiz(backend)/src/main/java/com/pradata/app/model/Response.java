@@ -2,6 +2,7 @@ package com.pradata.app.model;
 
 import jakarta.validation.constraints.Min; // Add validation imports
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
@@ -14,5 +15,6 @@ public class Response {
     private int id;
 
     // Allow null/empty response if student didn't answer? Validation depends on rules.
+    @Size(max = 255, message = "Response too long") // Stored in quiz_attempt_answers.chosen_option, a varchar(255)
     private String response;
 }
\ No newline at end of file
@@ -5,7 +5,7 @@ import lombok.Data;
 
 @Entity
 @Data
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_role_id", columnList = "role, id")) // Role-filtered keyset pages
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
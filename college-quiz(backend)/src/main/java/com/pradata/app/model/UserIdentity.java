@@ -0,0 +1,20 @@
+package com.pradata.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Cached, immutable view of a user (what services need to resolve the JWT subject)
+@Getter
+@ToString
+@AllArgsConstructor
+public class UserIdentity {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String role;
+
+    public static UserIdentity of(User user) {
+        return new UserIdentity(user.getId(), user.getName(), user.getEmail(), user.getRole());
+    }
+}
@@ -1,8 +1,10 @@
 package com.pradata.app.repository;
 
 import com.pradata.app.model.Question;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection; // Import Collection
@@ -14,11 +16,15 @@ public interface QuestionDao extends JpaRepository<Question, Integer> { // Use I
     // Finds all questions belonging to a specific category
     List<Question> findByCategory(String category);
 
-    // Native query for selecting random questions by category (keep if needed, otherwise remove)
-    @Query(value = "SELECT * FROM question q WHERE q.category = :category ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
-    List<Question> findRandomQuestionsByCategory(String category, int limit);
-
     // Counts how many questions exist within a given list of IDs
     // Used by QuizService to validate question IDs when creating/updating a quiz
     long countByIdIn(Collection<Integer> ids);
+
+    // Keyset page: questions after the given ID, optional filters, stable ID order (pass limit + 1 as the page size)
+    @Query("SELECT q FROM Question q WHERE q.id > :after " +
+            "AND (:category IS NULL OR q.category = :category) " +
+            "AND (:difficulty IS NULL OR q.difficultyLevel = :difficulty) " +
+            "ORDER BY q.id")
+    List<Question> findPageAfter(@Param("after") int after, @Param("category") String category,
+                                 @Param("difficulty") String difficulty, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.pradata.app.repository;
+
+import com.pradata.app.model.QuizAttemptAnswer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuizAttemptAnswerDao extends JpaRepository<QuizAttemptAnswer, Long> {
+
+    // All stored answers of one attempt (review / regrading)
+    List<QuizAttemptAnswer> findByAttemptId(Long attemptId);
+
+    // Answers have no FK to quiz_attempts, so they are removed explicitly before their attempts
+    @Modifying
+    @Query("DELETE FROM QuizAttemptAnswer a WHERE a.attemptId IN (SELECT qa.id FROM QuizAttempt qa WHERE qa.quiz.id = :quizId)")
+    void deleteByQuizId(@Param("quizId") Integer quizId);
+
+    @Modifying
+    @Query("DELETE FROM QuizAttemptAnswer a WHERE a.attemptId IN (SELECT qa.id FROM QuizAttempt qa WHERE qa.student.id = :studentId)")
+    void deleteByStudentId(@Param("studentId") Long studentId);
+}
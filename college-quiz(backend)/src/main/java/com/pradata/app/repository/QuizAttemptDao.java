@@ -1,22 +1,40 @@
 package com.pradata.app.repository;
 
 import com.pradata.app.model.QuizAttempt;
+import com.pradata.app.model.QuizAttemptResultDto;
+import com.pradata.app.model.SubmissionResultDto;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface QuizAttemptDao extends JpaRepository<QuizAttempt, Long> { // Use Long for ID type matching QuizAttempt entity
 
-    // Finds all attempts associated with a specific quiz ID
-    List<QuizAttempt> findByQuizId(Integer quizId);
+    // Submitted attempts of a quiz as DTOs: student and quiz joined in the same statement, no per-row lazy loads
+    @Query("SELECT new com.pradata.app.model.SubmissionResultDto(s.name, qa.score, q.totalMarks, qa.submissionTime) " +
+            "FROM QuizAttempt qa JOIN qa.student s JOIN qa.quiz q " +
+            "WHERE q.id = :quizId AND qa.submissionTime IS NOT NULL ORDER BY qa.submissionTime, qa.id")
+    List<SubmissionResultDto> findSubmissionResultsByQuizId(@Param("quizId") Integer quizId);
 
     // Checks if a specific student already has a submitted attempt (submissionTime is not null) for a specific quiz
     boolean existsByQuizIdAndStudentIdAndSubmissionTimeIsNotNull(Integer quizId, Long studentId);
 
+    // Loads an attempt together with its student (ownership check) in one query
+    @Query("SELECT qa FROM QuizAttempt qa JOIN FETCH qa.student WHERE qa.id = :attemptId")
+    Optional<QuizAttempt> findWithStudentById(@Param("attemptId") Long attemptId);
+
+    // Graded score(s) of a student's submitted attempt for a quiz (rank lookups)
+    @Query("SELECT qa.score FROM QuizAttempt qa WHERE qa.quiz.id = :quizId AND qa.student.id = :studentId " +
+            "AND qa.submissionTime IS NOT NULL AND qa.score IS NOT NULL ORDER BY qa.score DESC")
+    List<Integer> findSubmittedScores(@Param("quizId") Integer quizId, @Param("studentId") Long studentId);
+
+    // Latest not-yet-submitted attempt of a student for a quiz (used to resume after a refresh)
+    Optional<QuizAttempt> findFirstByQuizIdAndStudentIdAndSubmissionTimeIsNullOrderByStartTimeDesc(Integer quizId, Long studentId);
+
     // Consider adding methods for cascading deletes if needed by AdminService
     // void deleteByStudentId(Long studentId);
     // void deleteByQuizId(Integer quizId);
@@ -28,5 +46,10 @@ public interface QuizAttemptDao extends JpaRepository<QuizAttempt, Long> { // Us
      @Query("DELETE FROM QuizAttempt qa WHERE qa.student.id = :studentId")
      void deleteByStudentId(@Param("studentId") Long studentId);
 
-    List<QuizAttempt> findByStudentIdOrderBySubmissionTimeDesc(Long studentId);
+    // Submitted attempts of a student with their quiz details, most recent first, in one statement
+    @Query("SELECT new com.pradata.app.model.QuizAttemptResultDto(qa.id, qa.score, qa.startTime, qa.submissionTime, " +
+            "q.title, q.subject, q.durationInMinutes, q.totalMarks) " +
+            "FROM QuizAttempt qa JOIN qa.quiz q " +
+            "WHERE qa.student.id = :studentId AND qa.submissionTime IS NOT NULL ORDER BY qa.submissionTime DESC, qa.id DESC")
+    List<QuizAttemptResultDto> findAttemptResultsByStudentId(@Param("studentId") Long studentId);
 }
\ No newline at end of file
@@ -1,12 +1,18 @@
 package com.pradata.app.repository;
 
 import com.pradata.app.model.Quiz;
+import com.pradata.app.model.QuizSummaryDto;
 import com.pradata.app.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface QuizDao extends JpaRepository<Quiz, Integer> { // Use Integer for ID type matching Quiz entity
@@ -23,6 +29,36 @@ public interface QuizDao extends JpaRepository<Quiz, Integer> { // Use Integer f
     // Finds all quizzes created by a specific user
     List<Quiz> findByCreatedBy(User creator);
 
+    // Same, by creator ID (no User entity needed)
+    List<Quiz> findByCreatedById(Long creatorId);
+
+    // List projections: one statement per list, question counts from a SIZE() subquery instead of loading the collections
+    // and the creator's name and role from a join instead of the lazy User
+    String SUMMARY_SELECT = "SELECT new com.pradata.app.model.QuizSummaryDto(q.id, q.title, q.description, q.subject, " +
+            "q.durationInMinutes, q.totalMarks, q.startTime, q.endTime, q.status, q.assignmentCriteria, SIZE(q.questions), " +
+            "c.id, c.name, c.role) FROM Quiz q LEFT JOIN q.createdBy c ";
+
+    @Query(SUMMARY_SELECT + "WHERE q.createdBy.id = :creatorId ORDER BY q.id")
+    List<QuizSummaryDto> findSummariesByCreatorId(@Param("creatorId") Long creatorId);
+
+    @Query(SUMMARY_SELECT + "WHERE q.id IN :ids ORDER BY q.id")
+    List<QuizSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(SUMMARY_SELECT + "ORDER BY q.id")
+    List<QuizSummaryDto> findAllSummaries();
+
+    // Keyset page: quizzes after the given ID, optional status/creator filters, stable ID order (pass limit + 1 as the page size)
+    @Query(SUMMARY_SELECT + "WHERE q.id > :after " +
+            "AND (:status IS NULL OR q.status = :status) " +
+            "AND (:creatorId IS NULL OR q.createdBy.id = :creatorId) " +
+            "ORDER BY q.id")
+    List<QuizSummaryDto> findSummaryPageAfter(@Param("after") int after, @Param("status") String status,
+                                              @Param("creatorId") Long creatorId, Pageable pageable);
+
+    // Full quiz with its questions for the editor, in one statement
+    @Query("SELECT DISTINCT q FROM Quiz q LEFT JOIN FETCH q.questions WHERE q.id = :quizId")
+    Optional<Quiz> findWithQuestionsById(@Param("quizId") Integer quizId);
+
     // Consider adding existsById if only checking existence is needed
     // boolean existsById(Integer id);
 }
\ No newline at end of file
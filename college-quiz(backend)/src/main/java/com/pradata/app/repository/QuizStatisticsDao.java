@@ -0,0 +1,9 @@
+package com.pradata.app.repository;
+
+import com.pradata.app.model.QuizStatistics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuizStatisticsDao extends JpaRepository<QuizStatistics, Integer> {
+}
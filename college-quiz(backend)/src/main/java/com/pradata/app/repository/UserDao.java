@@ -1,13 +1,21 @@
 package com.pradata.app.repository;
 
 import com.pradata.app.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserDao extends JpaRepository<User, Long> { // Use Long for ID type matching User entity
     // Finds a user by their unique email address
     Optional<User> findByEmail(String email);
+
+    // Keyset page: users after the given ID, optional role filter, stable ID order (pass limit + 1 as the page size)
+    @Query("SELECT u FROM User u WHERE u.id > :after AND (:role IS NULL OR u.role = :role) ORDER BY u.id")
+    List<User> findPageAfter(@Param("after") long after, @Param("role") String role, Pageable pageable);
 }
\ No newline at end of file
@@ -1,14 +1,18 @@
 package com.pradata.app.service;
 
+import com.pradata.app.model.KeysetPage;
 import com.pradata.app.model.Quiz;
+import com.pradata.app.model.QuizSummaryDto;
 import com.pradata.app.model.User;
 import com.pradata.app.model.UserDto;
+import com.pradata.app.repository.QuizAttemptAnswerDao;
 import com.pradata.app.repository.QuizAttemptDao;
 import com.pradata.app.repository.QuizDao;
 import com.pradata.app.repository.UserDao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -28,25 +32,67 @@ public class AdminService {
     @Autowired private UserDao userDao;
     @Autowired private QuizDao quizDao;
     @Autowired private QuizAttemptDao quizAttemptDao;
-
-    // @Transactional(readOnly = true) // Use for read-only methods
+    @Autowired private QuizAttemptAnswerDao quizAttemptAnswerDao;
+    @Autowired private UserIdentityCache userIdentityCache;
+    @Autowired private QuizAssignmentIndex quizAssignmentIndex;
+    @Autowired private QuizScheduleIndex quizScheduleIndex;
+    @Autowired private QuizPaperCache quizPaperCache;
+    @Autowired private AnswerKeyCache answerKeyCache;
+    @Autowired private QuizLeaderboard quizLeaderboard;
+    @Autowired private QuizStatisticsService quizStatisticsService;
+    @Autowired private QuestionItemStats questionItemStats;
+    @Autowired private QuizLiveFeed quizLiveFeed;
+
+    // Deprecated in favour of getUserPage; fetches at most LEGACY_LIST_CAP + 1 rows to detect truncation
+    @Deprecated
+    @Transactional(readOnly = true)
     public ResponseEntity<List<UserDto>> getAllUsers() {
         try {
-            List<User> users = userDao.findAll();
+            List<User> users = userDao.findPageAfter(0L, null, PageRequest.of(0, KeysetPage.LEGACY_LIST_CAP + 1));
+            if (users.size() > KeysetPage.LEGACY_LIST_CAP) {
+                logger.warn("User listing truncated to {} rows; clients should use /api/admin/users/page", KeysetPage.LEGACY_LIST_CAP);
+            }
             List<UserDto> userDtos = users.stream().map(this::mapToUserDto).collect(Collectors.toList());
-            return new ResponseEntity<>(userDtos, HttpStatus.OK);
+            return KeysetPage.legacyList(userDtos, "/api/admin/users/page");
         } catch (Exception e) {
             logger.error("Error fetching all users", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
-    // @Transactional(readOnly = true)
-    public ResponseEntity<List<Quiz>> getAllQuizzes() {
+    // Keyset-paginated user list, optionally filtered by role
+    @Transactional(readOnly = true)
+    public ResponseEntity<KeysetPage<UserDto>> getUserPage(Long after, Integer limit, String role) {
+        int pageSize = KeysetPage.clampLimit(limit);
+        try {
+            List<UserDto> rows = userDao.findPageAfter(after != null ? after : 0L,
+                            StringUtils.hasText(role) ? role : null, PageRequest.of(0, pageSize + 1))
+                    .stream().map(this::mapToUserDto).collect(Collectors.toList());
+            return new ResponseEntity<>(KeysetPage.of(rows, pageSize, UserDto::getId), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error fetching user page after {}", after, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Keyset-paginated quiz list, optionally filtered by status and creator
+    @Transactional(readOnly = true)
+    public ResponseEntity<KeysetPage<QuizSummaryDto>> getQuizPage(Integer after, Integer limit, String status, Long creatorId) {
+        int pageSize = KeysetPage.clampLimit(limit);
+        try {
+            List<QuizSummaryDto> rows = quizDao.findSummaryPageAfter(after != null ? after : 0,
+                    StringUtils.hasText(status) ? status : null, creatorId, PageRequest.of(0, pageSize + 1));
+            return new ResponseEntity<>(KeysetPage.of(rows, pageSize, QuizSummaryDto::getId), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error fetching quiz page after {}", after, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<QuizSummaryDto>> getAllQuizzes() {
         try {
-            List<Quiz> quizzes = quizDao.findAll();
-            // Handle lazy loading if necessary (e.g., if questions are LAZY)
-            // quizzes.forEach(quiz -> quiz.getQuestions().size());
+            List<QuizSummaryDto> quizzes = quizDao.findAllSummaries(); // Question counts only, no collection loads
             return new ResponseEntity<>(quizzes, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error fetching all quizzes", e);
@@ -71,7 +117,12 @@ public class AdminService {
 
         try {
             // TODO: Implement robust deletion of related data (QuizAttempts, etc.)
-             quizAttemptDao.deleteByStudentId(userId); // Example
+            quizStatisticsService.invalidateForStudent(userId); // Before their attempts are gone
+            quizAttemptAnswerDao.deleteByStudentId(userId);
+            userIdentityCache.invalidate(userToDelete.getEmail());
+            quizAttemptDao.deleteByStudentId(userId); // Example
+            quizLeaderboard.invalidateAll(); // Their submissions leave every leaderboard
+            questionItemStats.invalidateAll();
             userDao.deleteById(userId);
             logger.info("Admin deleted user with ID: {}", userId);
             return new ResponseEntity<>("User deleted successfully", HttpStatus.OK);
@@ -112,6 +163,7 @@ public class AdminService {
         user.setRole(newRole);
         try {
             userDao.save(user);
+            userIdentityCache.invalidate(user.getEmail());
             logger.info("Admin updated role for user {} to {}", userId, newRole);
             return new ResponseEntity<>("User role updated to " + newRole, HttpStatus.OK);
         } catch (Exception e) {
@@ -130,8 +182,17 @@ public class AdminService {
         try {
             // TODO: Delete related QuizAttempts first
             // quizAttemptDao.deleteByQuizId(quizId);
+            quizAttemptAnswerDao.deleteByQuizId(quizId);
             quizAttemptDao.deleteByQuizId(quizId);
             quizDao.deleteById(quizId);
+            quizAssignmentIndex.remove(quizId);
+            quizScheduleIndex.remove(quizId);
+            quizLeaderboard.remove(quizId);
+            quizStatisticsService.remove(quizId);
+            questionItemStats.invalidateAll(); // Answers of the quiz's attempts are gone
+            quizLiveFeed.remove(quizId);
+            quizPaperCache.invalidateQuiz(quizId);
+            answerKeyCache.invalidateQuiz(quizId);
             logger.info("Admin deleted quiz with ID: {}", quizId);
             return new ResponseEntity<>("Quiz deleted successfully by Admin", HttpStatus.OK);
         } catch (Exception e) {
@@ -0,0 +1,111 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Question;
+import com.pradata.app.model.Response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable answer key of a quiz: question IDs sorted in an int[] with the right answers in a parallel array
+ * (and the four options of each question, for item analytics), plus the quiz duration so grading never needs
+ * to initialise the Quiz entity.
+ */
+public final class AnswerKey {
+
+    private final long version;
+    private final int[] questionIds;
+    private final String[] rightAnswers;
+    private final String[] options; // option1..option4 of questionIds[i] at 4 * i .. 4 * i + 3
+    private final int durationInMinutes;
+
+    private AnswerKey(long version, int[] questionIds, String[] rightAnswers, String[] options, int durationInMinutes) {
+        this.version = version;
+        this.questionIds = questionIds;
+        this.rightAnswers = rightAnswers;
+        this.options = options;
+        this.durationInMinutes = durationInMinutes;
+    }
+
+    public static AnswerKey of(long version, List<Question> questions, int durationInMinutes) {
+        Question[] sorted = questions.toArray(new Question[0]);
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a.getId(), b.getId()));
+        int[] ids = new int[sorted.length];
+        String[] answers = new String[sorted.length];
+        String[] options = new String[4 * sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i] = sorted[i].getId();
+            answers[i] = sorted[i].getRightAnswer();
+            options[4 * i] = sorted[i].getOption1();
+            options[4 * i + 1] = sorted[i].getOption2();
+            options[4 * i + 2] = sorted[i].getOption3();
+            options[4 * i + 3] = sorted[i].getOption4();
+        }
+        return new AnswerKey(version, ids, answers, options, durationInMinutes);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    public int getDurationInMinutes() {
+        return durationInMinutes;
+    }
+
+    public boolean containsQuestion(int questionId) {
+        return Arrays.binarySearch(questionIds, questionId) >= 0;
+    }
+
+    // Right answer for the question, or null if it is not part of this quiz
+    public String rightAnswerFor(int questionId) {
+        int index = Arrays.binarySearch(questionIds, questionId);
+        return index >= 0 ? rightAnswers[index] : null;
+    }
+
+    // 1..4 for the first option the response matches exactly, 0 for any other text or a question outside this quiz
+    public int optionIndex(Response response) {
+        if (response == null || response.getResponse() == null) return 0;
+        int index = Arrays.binarySearch(questionIds, response.getId());
+        if (index < 0) return 0;
+        for (int option = 0; option < 4; option++) {
+            if (response.getResponse().equals(options[4 * index + option])) return option + 1;
+        }
+        return 0;
+    }
+
+    public boolean isCorrect(Response response) {
+        if (response == null || response.getResponse() == null) return false;
+        String rightAnswer = rightAnswerFor(response.getId());
+        return rightAnswer != null && rightAnswer.equals(response.getResponse());
+    }
+
+    // The last response to each question of this quiz, in question order; responses to other questions are dropped
+    public List<Response> answered(List<Response> responses) {
+        if (responses == null) return List.of();
+        Response[] last = new Response[questionIds.length];
+        for (Response res : responses) {
+            if (res == null) continue;
+            int index = Arrays.binarySearch(questionIds, res.getId());
+            if (index >= 0) last[index] = res;
+        }
+        List<Response> answered = new ArrayList<>(Math.min(responses.size(), last.length));
+        for (Response res : last) {
+            if (res != null) answered.add(res);
+        }
+        return answered;
+    }
+
+    // One point per correctly answered question; repeating a response does not count it twice
+    public int grade(List<Response> responses) {
+        int score = 0;
+        for (Response res : answered(responses)) {
+            if (isCorrect(res)) score++;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,54 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Quiz;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versioned cache of AnswerKeys by quiz ID, so grading does not rebuild a HashMap
+ * (and lazily load the question set) on every submission.
+ * Entries are dropped after commit when the quiz or any of its questions changes.
+ */
+@Component
+public class AnswerKeyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerKeyCache.class);
+
+    private final Map<Integer, AnswerKey> keys = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    // Returns the cached key; on a miss the quiz (proxy) and its questions are loaded in the caller's transaction
+    public AnswerKey getOrLoad(Quiz quiz) {
+        AnswerKey key = keys.get(quiz.getId());
+        if (key != null) return key;
+
+        long versionBeforeLoad = version.get();
+        key = AnswerKey.of(versionBeforeLoad, quiz.getQuestions(), quiz.getDurationInMinutes());
+        keys.put(quiz.getId(), key);
+        if (version.get() != versionBeforeLoad) {
+            keys.remove(quiz.getId()); // An edit committed while loading; don't keep stale answers
+        }
+        logger.debug("Cached answer key v{} for quiz {} with {} questions", versionBeforeLoad, quiz.getId(), key.size());
+        return key;
+    }
+
+    public void invalidateQuiz(Integer quizId) {
+        if (quizId == null) return;
+        TransactionHooks.afterCommit(() -> {
+            version.incrementAndGet();
+            keys.remove(quizId);
+        });
+    }
+
+    public void invalidateQuestion(int questionId) {
+        TransactionHooks.afterCommit(() -> {
+            version.incrementAndGet();
+            keys.values().removeIf(key -> key.containsQuestion(questionId));
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists per-question answers of graded attempts into quiz_attempt_answers: one row per answered question of
+ * the quiz, holding the response AnswerKey graded (the last one sent for it).
+ * Rows go through one JDBC batch per call (the IDENTITY id would stop Hibernate from batching),
+ * so a 100-question submission costs one round trip rather than 100 inserts.
+ * The same batch is folded into the per-question item counters (QuestionItemStats).
+ */
+@Component
+public class AttemptAnswerStore {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO quiz_attempt_answers (attempt_id, question_id, chosen_option, correct) VALUES (?, ?, ?, ?)";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private QuestionItemStats questionItemStats;
+
+    // Joins the caller's transaction when there is one
+    public void save(Long attemptId, List<Response> responses, AnswerKey answerKey) {
+        List<Response> answered = answerKey.answered(responses);
+        List<Object[]> rows = new ArrayList<>();
+        addRows(rows, attemptId, answered, answerKey);
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        questionItemStats.recordAnswers(Map.of(attemptId, answered), Map.of(attemptId, answerKey));
+    }
+
+    // One batch for the answers of several attempts (used by the async grading pipeline)
+    public void saveAll(Map<Long, List<Response>> responsesByAttempt, Map<Long, AnswerKey> keysByAttempt) {
+        List<Object[]> rows = new ArrayList<>();
+        Map<Long, List<Response>> answeredByAttempt = new HashMap<>();
+        responsesByAttempt.forEach((attemptId, responses) -> {
+            AnswerKey answerKey = keysByAttempt.get(attemptId);
+            List<Response> answered = answerKey.answered(responses);
+            answeredByAttempt.put(attemptId, answered);
+            addRows(rows, attemptId, answered, answerKey);
+        });
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        questionItemStats.recordAnswers(answeredByAttempt, keysByAttempt); // Item counters updated per batch, not per answer
+    }
+
+    // answered comes from AnswerKey.answered: questions of this quiz only, at most one response each
+    private static void addRows(List<Object[]> rows, Long attemptId, List<Response> answered, AnswerKey answerKey) {
+        for (Response res : answered) {
+            rows.add(new Object[] { attemptId, res.getId(), res.getResponse(), answerKey.isCorrect(res) });
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Response;
+import com.pradata.app.model.UserIdentity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Autosave of in-progress attempts (quiz_attempts.saved_answers).
+ * Answer deltas are merged into an in-memory draft per attempt and acknowledged straight away; a ticker writes
+ * each changed draft at most once per app.autosave.min-interval-ms, all due drafts in one JDBC batch, so frequent
+ * autosaves from many students cost a few batched statements per tick instead of one transaction per call.
+ * Drafts also cache the attempt's owner, so repeat saves never hit the DB. Cleared by QuizService on submit.
+ */
+@Component
+public class AttemptAutosave {
+
+    public static final int MAX_ANSWERS = 1000; // Per attempt; far above any real paper
+
+    private static final Logger logger = LoggerFactory.getLogger(AttemptAutosave.class);
+
+    private static final String UPDATE_SQL = "UPDATE quiz_attempts SET saved_answers = ? WHERE id = ? AND submission_time IS NULL";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private UserIdentityCache userIdentityCache;
+    @Autowired private ResponseCodec responseCodec;
+
+    @Value("${app.autosave.min-interval-ms:10000}")
+    private long minIntervalMillis;
+
+    @Value("${app.autosave.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.autosave.idle-eviction-ms:3600000}")
+    private long idleEvictionMillis;
+
+    private final Map<Long, Draft> drafts = new ConcurrentHashMap<>();
+    private TransactionTemplate flushTransaction;
+
+    @PostConstruct
+    public void init() {
+        flushTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Merges the changed answers into the attempt's draft; a null response clears that question's answer
+    public ResponseEntity<String> save(Long attemptId, List<Response> deltas, String userEmail) {
+        Optional<UserIdentity> userOpt = StringUtils.hasText(userEmail) ? userIdentityCache.findByEmail(userEmail) : Optional.empty();
+        if (userOpt.isEmpty()) { return new ResponseEntity<>("User not found.", HttpStatus.NOT_FOUND); }
+
+        Draft cached = drafts.get(attemptId);
+        if (cached == null) {
+            Draft loaded = load(attemptId);
+            if (loaded == null) { return new ResponseEntity<>("Attempt not found.", HttpStatus.NOT_FOUND); }
+            cached = drafts.merge(attemptId, loaded, (existing, fresh) -> existing); // Keep a draft loaded concurrently
+        }
+        final Draft draft = cached;
+        if (draft.studentId != userOpt.get().getId()) {
+            logger.warn("User {} tried to autosave attempt {} they do not own", userEmail, attemptId);
+            return new ResponseEntity<>("Not your attempt.", HttpStatus.FORBIDDEN);
+        }
+
+        synchronized (draft) {
+            if (draft.closed) { return new ResponseEntity<>("Attempt already submitted.", HttpStatus.CONFLICT); }
+            long added = deltas.stream().filter(delta -> delta.getResponse() != null && !draft.answers.containsKey(delta.getId())).count();
+            if (draft.answers.size() + added > MAX_ANSWERS) { return new ResponseEntity<>("Too many answers.", HttpStatus.BAD_REQUEST); }
+            for (Response delta : deltas) {
+                if (delta.getResponse() == null) draft.answers.remove(delta.getId());
+                else draft.answers.put(delta.getId(), delta.getResponse());
+            }
+            draft.dirty = true;
+            draft.lastTouchedMillis = System.currentTimeMillis();
+        }
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+
+    // Answers to hand back on resume: the in-memory draft if there is one (it may be ahead of the column)
+    public List<Response> savedAnswers(Long attemptId, String storedAnswers) {
+        Draft draft = drafts.get(attemptId);
+        if (draft == null) return responseCodec.decode(storedAnswers);
+        synchronized (draft) {
+            return draft.toResponses();
+        }
+    }
+
+    // The attempt was submitted: drop its draft once the submission commits
+    public void discard(Long attemptId) {
+        TransactionHooks.afterCommit(() -> {
+            Draft draft = drafts.remove(attemptId);
+            if (draft != null) {
+                synchronized (draft) {
+                    draft.closed = true; // A save racing with the submit gets 409
+                }
+            }
+        });
+    }
+
+    // Writes drafts whose last write is at least min-interval old; every due draft goes into the same batch
+    @Scheduled(fixedDelayString = "${app.autosave.tick-ms:1000}")
+    public void flush() {
+        flush(false);
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush(true);
+    }
+
+    private void flush(boolean force) {
+        long now = System.currentTimeMillis();
+        List<Long> attemptIds = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        drafts.forEach((attemptId, draft) -> {
+            synchronized (draft) {
+                if (!draft.dirty) {
+                    if (now - draft.lastTouchedMillis > idleEvictionMillis) drafts.remove(attemptId, draft); // Reloaded from the column if needed
+                    return;
+                }
+                if (!force && now - draft.lastFlushMillis < minIntervalMillis) return;
+                rows.add(new Object[] { responseCodec.encode(draft.toResponses()), attemptId });
+                attemptIds.add(attemptId);
+                draft.dirty = false;
+                draft.lastFlushMillis = now;
+            }
+        });
+        if (rows.isEmpty()) return;
+        try {
+            flushTransaction.executeWithoutResult(status -> {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+                }
+            });
+            logger.debug("Autosaved {} attempts", rows.size());
+        } catch (Exception e) {
+            // Nothing was written: mark the drafts dirty again for the next tick
+            for (Long attemptId : attemptIds) {
+                Draft draft = drafts.get(attemptId);
+                if (draft != null) synchronized (draft) { draft.dirty = true; }
+            }
+            logger.error("Error autosaving {} attempts: {}", rows.size(), e.getMessage(), e);
+        }
+    }
+
+    // Owner and already saved answers of an open attempt; null if it does not exist
+    private Draft load(Long attemptId) {
+        List<Draft> found = jdbcTemplate.query(
+                "SELECT student_id, submission_time, saved_answers FROM quiz_attempts WHERE id = ?",
+                (rs, rowNum) -> {
+                    Draft draft = new Draft(rs.getLong(1));
+                    draft.closed = rs.getTimestamp(2) != null;
+                    for (Response saved : responseCodec.decode(rs.getString(3))) {
+                        if (saved.getResponse() != null) draft.answers.put(saved.getId(), saved.getResponse());
+                    }
+                    return draft;
+                },
+                attemptId);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // Guarded by its own monitor
+    private static final class Draft {
+        private final long studentId;
+        private final Map<Integer, String> answers = new LinkedHashMap<>();
+        private boolean closed;
+        private boolean dirty;
+        private long lastFlushMillis;
+        private long lastTouchedMillis = System.currentTimeMillis();
+
+        Draft(long studentId) {
+            this.studentId = studentId;
+        }
+
+        List<Response> toResponses() {
+            List<Response> responses = new ArrayList<>(answers.size());
+            answers.forEach((questionId, answer) -> {
+                Response response = new Response();
+                response.setId(questionId);
+                response.setResponse(answer);
+                responses.add(response);
+            });
+            return responses;
+        }
+    }
+}
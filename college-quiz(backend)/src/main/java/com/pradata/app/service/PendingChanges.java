@@ -0,0 +1,71 @@
+package com.pradata.app.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * After-commit changes to an in-memory view that is loaded lazily from the DB. The view is registered before its
+ * read runs, so changes arriving meanwhile are buffered here. When the read installs, it reports which changes it
+ * already contains (each change is keyed by the row it came from, e.g. an attempt); those are dropped and the rest
+ * replayed. The same check keeps applying afterwards, so a change whose hook runs only after the install is not
+ * counted twice either. Not thread-safe: callers hold the view's own lock around every call.
+ *
+ * @param <V> the view the changes apply to
+ * @param <K> what identifies a change in the read
+ */
+final class PendingChanges<V, K> {
+
+    private final List<Pending<V, K>> pending = new ArrayList<>();
+    private Predicate<K> seenByRead = key -> false;
+    private volatile boolean installed;
+
+    boolean isInstalled() {
+        return installed;
+    }
+
+    // Applies the change to the view, buffers it until the read installs, or drops it if the read already had it
+    void apply(V view, K key, Consumer<V> change) {
+        if (!installed) {
+            pending.add(new Pending<>(key, change));
+        } else if (!seenByRead.test(key)) {
+            change.accept(view);
+        }
+    }
+
+    // Call once the view holds the read: replays the buffered changes the read did not contain
+    void install(V view, Predicate<K> seenByRead) {
+        this.seenByRead = seenByRead;
+        for (Pending<V, K> change : pending) {
+            if (!seenByRead.test(change.key())) change.change().accept(view);
+        }
+        pending.clear();
+        installed = true;
+    }
+
+    private record Pending<V, K>(K key, Consumer<V> change) {
+    }
+
+    // IDs of the rows a read returned, collected row by row; sort() once the read has finished, then query contains()
+    static final class ReadIds {
+        private long[] ids = new long[64];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        ReadIds sort() {
+            ids = Arrays.copyOf(ids, size);
+            Arrays.sort(ids);
+            return this;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Quiz;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Common scaffolding of the in-memory indexes over PUBLISHED quizzes (assignment criteria, schedule):
+ * a read/write lock, lazy loading through PublishedQuizLoader (one quiz scan shared by all indexes),
+ * and refresh/remove applied after commit. Subclasses only say what they keep per quiz and how to (un)index it.
+ *
+ * @param <E> the immutable per-quiz entry, captured from the Quiz before the transaction commits
+ */
+public abstract class PublishedQuizIndex<E> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublishedQuizIndex.class);
+
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final String name;
+    private volatile boolean loaded = false;
+
+    @Autowired private PublishedQuizLoader publishedQuizLoader;
+
+    protected PublishedQuizIndex(String name) {
+        this.name = name;
+    }
+
+    // Entry to index for this quiz, or null if the quiz does not belong in the index; called before commit
+    protected abstract E entryOf(Quiz quiz);
+
+    // The three below run under the write lock
+    protected abstract void index(Integer quizId, E entry);
+
+    protected abstract void unindex(Integer quizId);
+
+    protected abstract void clear();
+
+    protected abstract int size();
+
+    // Re-indexes a created/updated quiz once the surrounding transaction commits
+    public void refresh(Quiz quiz) {
+        if (quiz == null || quiz.getId() == null) return;
+        final Integer quizId = quiz.getId();
+        final E entry = entryOf(quiz);
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(quizId);
+                if (entry != null) index(quizId, entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.debug("{} refreshed for quiz {} (indexed: {})", name, quizId, entry != null);
+        });
+    }
+
+    // Drops a deleted quiz from the index once the surrounding transaction commits
+    public void remove(Integer quizId) {
+        if (quizId == null) return;
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(quizId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.debug("Quiz {} removed from {}", quizId, name);
+        });
+    }
+
+    // Replaces the whole index with the given published quizzes
+    public void rebuild(Collection<Quiz> publishedQuizzes) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Quiz quiz : publishedQuizzes) {
+                E entry = entryOf(quiz);
+                if (entry != null) index(quiz.getId(), entry);
+            }
+            loaded = true;
+            logger.info("{} built with {} quizzes", name, size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected void ensureLoaded() {
+        if (!loaded) publishedQuizLoader.loadPending();
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+}
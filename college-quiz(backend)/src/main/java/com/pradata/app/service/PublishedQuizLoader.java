@@ -0,0 +1,41 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Quiz;
+import com.pradata.app.repository.QuizDao;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Builds every PublishedQuizIndex that is not loaded yet from a single scan of the published quizzes,
+ * so the first lookup costs one findByStatus query however many indexes there are.
+ */
+@Component
+public class PublishedQuizLoader {
+
+    @Autowired private QuizDao quizDao;
+    @Autowired private ObjectProvider<PublishedQuizIndex<?>> indexes; // Resolved on use: the indexes depend on this loader
+
+    private final ReentrantLock loadLock = new ReentrantLock(); // Not a monitor: findByStatus must not pin a virtual thread's carrier
+
+    void loadPending() {
+        loadLock.lock();
+        try {
+            List<PublishedQuizIndex<?>> pending = indexes.orderedStream().filter(index -> !index.isLoaded()).toList();
+            if (pending.isEmpty()) return;
+            // DB read happens under the write locks so no concurrent refresh can be lost
+            pending.forEach(index -> index.lock.writeLock().lock());
+            try {
+                List<Quiz> published = quizDao.findByStatus("PUBLISHED");
+                pending.forEach(index -> index.rebuild(published));
+            } finally {
+                pending.forEach(index -> index.lock.writeLock().unlock());
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+}
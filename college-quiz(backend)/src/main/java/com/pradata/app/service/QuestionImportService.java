@@ -0,0 +1,256 @@
+package com.pradata.app.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradata.app.model.Question;
+import com.pradata.app.model.QuestionImportReport;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of questions from a CSV or JSON-array stream.
+ * Rows are parsed one at a time, validated against the Question constraints and inserted with JDBC batches,
+ * one transaction per chunk, so memory is bounded by the chunk size rather than the file size.
+ * Invalid rows are skipped and reported; a failing chunk is reported row by row and does not stop the import.
+ */
+@Service
+@Timed(value = "question.import", description = "Bulk question imports")
+public class QuestionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO question (category, difficulty_level, option1, option2, option3, option4, question_title, right_answer) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // CSV header names (case-insensitive) mapped to Question fields
+    private static final List<String> CSV_COLUMNS = List.of(
+            "category", "difficultylevel", "option1", "option2", "option3", "option4", "questiontitle", "rightanswer");
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private Validator validator;
+    @Autowired private QuestionSearchIndex questionSearchIndex;
+    @Autowired private QuestionPoolCache questionPoolCache;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    private TransactionTemplate chunkTransaction;
+
+    @PostConstruct
+    public void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public ResponseEntity<QuestionImportReport> importQuestions(InputStream body, boolean json) {
+        QuestionImportReport report = new QuestionImportReport();
+        long startNanos = System.nanoTime();
+        Chunk chunk = new Chunk(report);
+        try {
+            if (json) {
+                importJson(body, chunk, report);
+            } else {
+                importCsv(body, chunk, report);
+            }
+            chunk.flush();
+        } catch (IOException | IllegalArgumentException e) {
+            // Malformed input: rows before this point are kept, the rest of the file is not read
+            chunk.flush();
+            logger.warn("Question import stopped after {} rows: {}", report.getTotalRows(), e.getMessage());
+            report.addError(report.getTotalRows() + 1, "Import stopped: " + e.getMessage());
+        }
+        report.setDurationMs((System.nanoTime() - startNanos) / 1_000_000);
+        logger.info("Question import finished: {} rows, {} imported, {} failed in {} ms",
+                report.getTotalRows(), report.getImported(), report.getFailed(), report.getDurationMs());
+        HttpStatus status = report.getImported() == 0 && report.getFailed() > 0 ? HttpStatus.BAD_REQUEST : HttpStatus.OK;
+        return new ResponseEntity<>(report, status);
+    }
+
+    private void importCsv(InputStream body, Chunk chunk, QuestionImportReport report) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024));
+        List<String> header = reader.next();
+        if (header == null) throw new IllegalArgumentException("Empty file");
+        int[] fieldOfColumn = new int[header.size()];
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "") // Byte-order mark from spreadsheet exports
+                    .trim().toLowerCase(Locale.ROOT).replace("_", "");
+            fieldOfColumn[i] = CSV_COLUMNS.indexOf(name); // -1: ignored column (e.g. id)
+        }
+        if (!containsField(fieldOfColumn, CSV_COLUMNS.indexOf("questiontitle"))
+                || !containsField(fieldOfColumn, CSV_COLUMNS.indexOf("rightanswer"))) {
+            throw new IllegalArgumentException("CSV header must include questionTitle and rightAnswer");
+        }
+
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            report.setTotalRows(report.getTotalRows() + 1);
+            long row = reader.getRecordStartLine();
+            if (record.size() > header.size()) {
+                report.addError(row, "Expected at most " + header.size() + " fields but found " + record.size());
+                continue;
+            }
+            String[] values = new String[CSV_COLUMNS.size()];
+            for (int i = 0; i < record.size(); i++) {
+                if (fieldOfColumn[i] >= 0 && !record.get(i).isEmpty()) values[fieldOfColumn[i]] = record.get(i);
+            }
+            Question question = new Question();
+            question.setCategory(values[0]);
+            question.setDifficultyLevel(values[1]);
+            question.setOption1(values[2]);
+            question.setOption2(values[3]);
+            question.setOption3(values[4]);
+            question.setOption4(values[5]);
+            question.setQuestionTitle(values[6]);
+            question.setRightAnswer(values[7]);
+            accept(question, row, chunk, report);
+        }
+    }
+
+    // Expects a top-level array of question objects; each element is bound on its own so one bad row does not end the import
+    private void importJson(InputStream body, Chunk chunk, QuestionImportReport report) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON body must be an array of questions");
+            }
+            long row = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                row++;
+                report.setTotalRows(row);
+                JsonNode node = parser.readValueAsTree();
+                Question question;
+                try {
+                    question = objectMapper.treeToValue(node, Question.class);
+                } catch (JsonProcessingException e) {
+                    report.addError(row, "Invalid question: " + e.getOriginalMessage());
+                    continue;
+                }
+                accept(question, row, chunk, report);
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("Expected a question object or the end of the array at element " + (row + 1));
+            }
+        }
+    }
+
+    private void accept(Question question, long row, Chunk chunk, QuestionImportReport report) {
+        Set<ConstraintViolation<Question>> violations = validator.validate(question);
+        if (!violations.isEmpty()) {
+            report.addError(row, violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+        chunk.add(row, question);
+        if (chunk.size() >= batchSize) chunk.flush();
+    }
+
+    private static boolean containsField(int[] fieldOfColumn, int field) {
+        for (int f : fieldOfColumn) {
+            if (f == field) return true;
+        }
+        return false;
+    }
+
+    // Valid rows waiting to be inserted; each flush is one transaction with one JDBC batch
+    private final class Chunk {
+        private final QuestionImportReport report;
+        private final List<Question> rows = new ArrayList<>();
+        private final List<Long> sourceRows = new ArrayList<>();
+
+        Chunk(QuestionImportReport report) {
+            this.report = report;
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        void add(long sourceRow, Question q) {
+            sourceRows.add(sourceRow);
+            rows.add(q);
+        }
+
+        void flush() {
+            if (rows.isEmpty()) return;
+            try {
+                chunkTransaction.executeWithoutResult(status -> {
+                    // Generated IDs are read back so the new questions can go straight into the search index
+                    KeyHolder keys = new GeneratedKeyHolder();
+                    jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[] { "id" }),
+                            new BatchPreparedStatementSetter() {
+                                @Override
+                                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                    Question q = rows.get(i);
+                                    ps.setString(1, q.getCategory());
+                                    ps.setString(2, q.getDifficultyLevel());
+                                    ps.setString(3, q.getOption1());
+                                    ps.setString(4, q.getOption2());
+                                    ps.setString(5, q.getOption3());
+                                    ps.setString(6, q.getOption4());
+                                    ps.setString(7, q.getQuestionTitle());
+                                    ps.setString(8, q.getRightAnswer());
+                                }
+
+                                @Override
+                                public int getBatchSize() {
+                                    return rows.size();
+                                }
+                            }, keys);
+                    List<Map<String, Object>> keyList = keys.getKeyList();
+                    for (int i = 0; i < keyList.size() && i < rows.size(); i++) {
+                        Object id = keyList.get(i).values().iterator().next();
+                        rows.get(i).setId(((Number) id).intValue());
+                    }
+                    List<Question> inserted = List.copyOf(rows);
+                    questionSearchIndex.indexAll(inserted);
+                    questionPoolCache.indexAll(inserted);
+                });
+                report.setImported(report.getImported() + rows.size());
+            } catch (Exception e) {
+                logger.error("Question import chunk of {} rows failed: {}", rows.size(), e.getMessage());
+                for (int i = 0; i < rows.size(); i++) {
+                    report.addError(sourceRows.get(i), "Not imported, batch failed: " + e.getMessage());
+                }
+            } finally {
+                rows.clear();
+                sourceRows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Response;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Item analytics of every question over all graded answers: attempts, correct answers, picks of each of the
+ * four options (any other submitted text counts once under "other") and the sums needed for a point-biserial
+ * discrimination index (correlation between answering the item correctly and the attempt's overall fraction
+ * correct). All counters are plain sums, so graded attempts are folded in after commit and partial results of
+ * a recompute merge the same way. Built lazily from quiz_attempt_answers by a fork-join pass over attempt-id
+ * ranges; dropped and rebuilt when attempts are deleted. The pass remembers which attempts it counted, so an
+ * attempt whose hook runs after the pass is folded in exactly once whether or not the scan saw it.
+ */
+@Component
+public class QuestionItemStats {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionItemStats.class);
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.item-stats.parallelism:4}")
+    private int parallelism; // Each leaf holds a DB connection while it scans
+
+    @Value("${app.item-stats.chunk-attempts:5000}")
+    private int chunkAttempts;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Counters> countersByQuestion = new HashMap<>();
+    private BitSet scannedAttempts = new BitSet(); // Attempts the last pass counted, as attemptId - scannedBase
+    private long scannedBase;
+    private volatile boolean loaded = false;
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Snapshot of the counters of the given questions; questions never answered are absent
+    public Map<Integer, Snapshot> snapshots(List<Integer> questionIds) {
+        ensureLoaded();
+        Map<Integer, Snapshot> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Integer questionId : questionIds) {
+                Counters counters = countersByQuestion.get(questionId);
+                if (counters != null) result.put(questionId, counters.snapshot());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // Folds the answers of a batch of graded attempts in once the surrounding transaction commits
+    public void recordAnswers(Map<Long, List<Response>> responsesByAttempt, Map<Long, AnswerKey> keysByAttempt) {
+        Map<Long, List<Answer>> answersByAttempt = new HashMap<>();
+        responsesByAttempt.forEach((attemptId, responses) -> {
+            AnswerKey answerKey = keysByAttempt.get(attemptId);
+            if (responses == null || answerKey == null) return;
+            List<Answer> answers = new ArrayList<>(responses.size());
+            for (Response res : responses) {
+                if (res == null) continue;
+                int option = res.getResponse() == null ? UNANSWERED : answerKey.optionIndex(res);
+                answers.add(new Answer(res.getId(), option, answerKey.isCorrect(res)));
+            }
+            if (!answers.isEmpty()) answersByAttempt.put(attemptId, answers);
+        });
+        if (answersByAttempt.isEmpty()) return;
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock(); // Waits for a running pass, which may or may not have read these answers
+            try {
+                if (!loaded) return; // No pass is running, so the next load reads these answers from the DB
+                answersByAttempt.forEach((attemptId, answers) -> {
+                    if (!scanned(attemptId)) addAttempt(countersByQuestion, answers);
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Drops a deleted question's counters once the surrounding transaction commits
+    public void remove(Integer questionId) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                countersByQuestion.remove(questionId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Attempts were deleted (quiz or user removed): recompute on the next read
+    public void invalidateAll() {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                loaded = false;
+                countersByQuestion.clear();
+                scannedAttempts = new BitSet();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Recomputes every question's counters from quiz_attempt_answers; returns the number of questions covered
+    public int rebuild() {
+        lock.writeLock().lock();
+        try {
+            long startNanos = System.nanoTime();
+            Map<Integer, Counters> rebuilt = recompute();
+            countersByQuestion.clear();
+            countersByQuestion.putAll(rebuilt);
+            loaded = true;
+            logger.info("Item statistics of {} questions recomputed in {} ms with parallelism {}",
+                    rebuilt.size(), (System.nanoTime() - startNanos) / 1_000_000, pool.getParallelism());
+            return rebuilt.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        lock.writeLock().lock();
+        try {
+            // DB read happens under the write lock so no concurrent batch can be lost
+            if (!loaded) rebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean scanned(long attemptId) {
+        long offset = attemptId - scannedBase;
+        return offset >= 0 && offset < scannedAttempts.length() && scannedAttempts.get((int) offset);
+    }
+
+    // Caller holds the write lock; also replaces the set of scanned attempts
+    private Map<Integer, Counters> recompute() {
+        Map<String, Object> range = jdbcTemplate.queryForMap("SELECT MIN(attempt_id) AS lo, MAX(attempt_id) AS hi FROM quiz_attempt_answers");
+        if (range.get("lo") == null) {
+            scannedAttempts = new BitSet();
+            return new HashMap<>();
+        }
+        long lo = ((Number) range.get("lo")).longValue();
+        long hi = ((Number) range.get("hi")).longValue();
+        Partial result = pool.invoke(new RangeScan(lo, lo, hi));
+        scannedBase = lo;
+        scannedAttempts = result.scanned();
+        return result.counters();
+    }
+
+    // Splits the attempt-id range until a leaf covers at most chunkAttempts ids, then scans that slice with one query
+    private final class RangeScan extends RecursiveTask<Partial> {
+        private final long base;
+        private final long lo;
+        private final long hi;
+
+        RangeScan(long base, long lo, long hi) {
+            this.base = base;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (hi - lo < chunkAttempts) return scan(base, lo, hi);
+            long mid = lo + (hi - lo) / 2;
+            RangeScan left = new RangeScan(base, lo, mid);
+            left.fork();
+            Partial right = new RangeScan(base, mid + 1, hi).compute();
+            Partial leftResult = left.join();
+            right.scanned().or(leftResult.scanned());
+            if (leftResult.counters().size() > right.counters().size()) {
+                mergeInto(leftResult.counters(), right.counters());
+                return new Partial(leftResult.counters(), right.scanned());
+            }
+            mergeInto(right.counters(), leftResult.counters());
+            return right;
+        }
+    }
+
+    // Rows come ordered by attempt so each attempt's fraction correct is known before its answers are counted;
+    // the join supplies the options a chosen text is matched against (none for a question deleted since)
+    private Partial scan(long base, long lo, long hi) {
+        Map<Integer, Counters> partial = new HashMap<>();
+        BitSet scanned = new BitSet();
+        List<Answer> attempt = new ArrayList<>();
+        long[] currentAttempt = { Long.MIN_VALUE };
+        jdbcTemplate.query(
+                "SELECT a.attempt_id, a.question_id, a.chosen_option, a.correct, q.option1, q.option2, q.option3, q.option4 "
+                        + "FROM quiz_attempt_answers a LEFT JOIN question q ON q.id = a.question_id "
+                        + "WHERE a.attempt_id BETWEEN ? AND ? ORDER BY a.attempt_id",
+                rs -> {
+                    long attemptId = rs.getLong(1);
+                    if (attemptId != currentAttempt[0]) {
+                        addAttempt(partial, attempt);
+                        attempt.clear();
+                        currentAttempt[0] = attemptId;
+                        scanned.set((int) (attemptId - base));
+                    }
+                    String chosen = rs.getString(3);
+                    int option = UNANSWERED;
+                    if (chosen != null) {
+                        option = OTHER;
+                        for (int column = 5; column <= 8 && option == OTHER; column++) {
+                            if (chosen.equals(rs.getString(column))) option = column - 4;
+                        }
+                    }
+                    attempt.add(new Answer(rs.getInt(2), option, rs.getBoolean(4)));
+                },
+                lo, hi);
+        addAttempt(partial, attempt);
+        return new Partial(partial, scanned);
+    }
+
+    private static void addAttempt(Map<Integer, Counters> target, List<Answer> answers) {
+        if (answers.isEmpty()) return;
+        int correct = 0;
+        for (Answer answer : answers) {
+            if (answer.correct()) correct++;
+        }
+        double fraction = (double) correct / answers.size();
+        for (Answer answer : answers) {
+            target.computeIfAbsent(answer.questionId(), id -> new Counters()).add(answer.option(), answer.correct(), fraction);
+        }
+    }
+
+    private static void mergeInto(Map<Integer, Counters> target, Map<Integer, Counters> source) {
+        source.forEach((questionId, counters) -> target.merge(questionId, counters, Counters::merge));
+    }
+
+    private static final int UNANSWERED = -1;
+    private static final int OTHER = 0;
+
+    // option is 1..4 for option1..option4, OTHER for text matching none of them, UNANSWERED for no answer
+    private record Answer(int questionId, int option, boolean correct) {
+    }
+
+    private record Partial(Map<Integer, Counters> counters, BitSet scanned) {
+    }
+
+    // optionPicks[i] counts picks of option(i + 1); otherPicks counts submitted text matching none of the options
+    public record Snapshot(long attempts, long correct, long unanswered, Double discrimination, long[] optionPicks, long otherPicks) {
+    }
+
+    // Sums over the answers of one question; x is the attempt's fraction correct, y whether this item was correct
+    private static final class Counters {
+        private long attempts;
+        private long correct;
+        private long unanswered;
+        private double sumX;
+        private double sumXSquared;
+        private double sumXCorrect;
+        private final long[] picks = new long[5]; // Indexed by Answer.option, OTHER at 0
+
+        void add(int option, boolean isCorrect, double x) {
+            attempts++;
+            sumX += x;
+            sumXSquared += x * x;
+            if (isCorrect) {
+                correct++;
+                sumXCorrect += x;
+            }
+            if (option == UNANSWERED) unanswered++;
+            else picks[option]++;
+        }
+
+        Counters merge(Counters other) {
+            attempts += other.attempts;
+            correct += other.correct;
+            unanswered += other.unanswered;
+            sumX += other.sumX;
+            sumXSquared += other.sumXSquared;
+            sumXCorrect += other.sumXCorrect;
+            for (int i = 0; i < picks.length; i++) picks[i] += other.picks[i];
+            return this;
+        }
+
+        // Point-biserial correlation; null while it is undefined (fewer than two answers, or no variance)
+        Double discrimination() {
+            if (attempts < 2) return null;
+            double n = attempts;
+            double scoreVariance = n * sumXSquared - sumX * sumX;
+            double itemVariance = (double) correct * (attempts - correct);
+            if (scoreVariance <= 1e-12 || itemVariance <= 0) return null;
+            return (n * sumXCorrect - sumX * correct) / Math.sqrt(scoreVariance * itemVariance);
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(attempts, correct, unanswered, discrimination(), Arrays.copyOfRange(picks, 1, 5), picks[OTHER]);
+        }
+    }
+}
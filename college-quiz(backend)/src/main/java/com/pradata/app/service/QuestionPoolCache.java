@@ -0,0 +1,228 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Question;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Question IDs grouped by (category, difficulty) for blueprint-based quiz generation.
+ * Sampling picks random indexes into these arrays, so drawing k questions costs O(k) instead of
+ * sorting the whole category with ORDER BY RANDOM(). Category and difficulty match case-insensitively.
+ * Loaded lazily with plain JDBC and kept in sync by QuestionService/QuestionImportService after each commit.
+ */
+@Component
+public class QuestionPoolCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionPoolCache.class);
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<String, IdPool>> poolsByCategory = new HashMap<>(); // category -> difficulty -> IDs
+    private final Map<Integer, String[]> keyOf = new HashMap<>(); // question ID -> { category, difficulty }
+    private volatile boolean loaded = false;
+
+    // Number of questions available for the category (and difficulty, if given)
+    public int available(String category, String difficulty) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int total = 0;
+            for (IdPool pool : poolsFor(category, difficulty)) total += pool.size;
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Draws count distinct question IDs of the category (any difficulty if difficulty is null), skipping IDs in exclude.
+     * Returns null if fewer than count eligible questions exist.
+     */
+    public List<Integer> sample(String category, String difficulty, int count, Set<Integer> exclude, Random random) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<IdPool> pools = poolsFor(category, difficulty);
+            int total = 0;
+            for (IdPool pool : pools) total += pool.size;
+            int excluded = 0;
+            String categoryKey = key(category);
+            String difficultyKey = difficulty != null ? key(difficulty) : null;
+            for (Integer id : exclude) {
+                String[] k = keyOf.get(id);
+                if (k != null && k[0].equals(categoryKey) && (difficultyKey == null || k[1].equals(difficultyKey))) excluded++;
+            }
+            int eligible = total - excluded;
+            if (count > eligible) return null;
+
+            List<Integer> picked = new ArrayList<>(count);
+            if (count * 2 <= eligible) {
+                // Sparse draw: random indexes with rejection, expected O(count) since at most half the range is taken
+                Set<Integer> chosen = new HashSet<>();
+                while (picked.size() < count) {
+                    int id = idAt(pools, random.nextInt(total));
+                    if (!exclude.contains(id) && chosen.add(id)) picked.add(id);
+                }
+            } else {
+                // Dense draw: partial Fisher-Yates over a copy of the eligible IDs
+                int[] ids = new int[eligible];
+                int n = 0;
+                for (IdPool pool : pools) {
+                    for (int i = 0; i < pool.size; i++) {
+                        if (!exclude.contains(pool.ids[i])) ids[n++] = pool.ids[i];
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    int j = i + random.nextInt(n - i);
+                    int tmp = ids[i]; ids[i] = ids[j]; ids[j] = tmp;
+                    picked.add(ids[i]);
+                }
+            }
+            return picked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // (Re-)files a created/updated question once the surrounding transaction commits
+    public void index(Question question) {
+        if (question == null || question.getId() <= 0) return;
+        final int id = question.getId();
+        final String category = question.getCategory();
+        final String difficulty = question.getDifficultyLevel();
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) return; // Checked under the lock the load holds across its SELECT: that read will include it
+                unindex(id);
+                index(id, category, difficulty);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Files freshly inserted questions (bulk import) once the surrounding transaction commits
+    public void indexAll(Collection<Question> questions) {
+        final List<String[]> rows = questions.stream()
+                .map(q -> new String[] { String.valueOf(q.getId()), q.getCategory(), q.getDifficultyLevel() })
+                .toList();
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) return;
+                for (String[] row : rows) {
+                    int id = Integer.parseInt(row[0]);
+                    unindex(id);
+                    index(id, row[1], row[2]);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Drops a deleted question once the surrounding transaction commits
+    public void remove(int questionId) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) return;
+                unindex(questionId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        lock.writeLock().lock();
+        try {
+            if (loaded) return;
+            poolsByCategory.clear(); // Leftovers of an earlier load that failed halfway
+            keyOf.clear();
+            // Commits during the read wait for this lock
+            jdbcTemplate.query("SELECT id, category, difficulty_level FROM question",
+                    rs -> { index(rs.getInt(1), rs.getString(2), rs.getString(3)); });
+            loaded = true;
+            logger.info("Question pools built with {} questions in {} categories", keyOf.size(), poolsByCategory.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<IdPool> poolsFor(String category, String difficulty) {
+        Map<String, IdPool> byDifficulty = poolsByCategory.get(key(category));
+        if (byDifficulty == null) return List.of();
+        if (difficulty == null) return new ArrayList<>(byDifficulty.values());
+        IdPool pool = byDifficulty.get(key(difficulty));
+        return pool != null ? List.of(pool) : List.of();
+    }
+
+    // Maps an index over the concatenated pools back to the question ID
+    private static int idAt(List<IdPool> pools, int index) {
+        for (IdPool pool : pools) {
+            if (index < pool.size) return pool.ids[index];
+            index -= pool.size;
+        }
+        throw new IllegalStateException("Index outside the question pools");
+    }
+
+    private void index(int id, String category, String difficulty) {
+        if (category == null) return; // Blueprints always name a category
+        String[] k = { key(category), key(difficulty) };
+        poolsByCategory.computeIfAbsent(k[0], c -> new HashMap<>()).computeIfAbsent(k[1], d -> new IdPool()).add(id);
+        keyOf.put(id, k);
+    }
+
+    private void unindex(int id) {
+        String[] k = keyOf.remove(id);
+        if (k == null) return;
+        Map<String, IdPool> byDifficulty = poolsByCategory.get(k[0]);
+        IdPool pool = byDifficulty.get(k[1]);
+        pool.remove(id);
+        if (pool.size == 0) byDifficulty.remove(k[1]);
+        if (byDifficulty.isEmpty()) poolsByCategory.remove(k[0]);
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Unordered, growable int array; removal swaps in the last element
+    private static final class IdPool {
+        private int[] ids = new int[16];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        void remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Question;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over question titles and options for the question-bank search.
+ * Each term maps to a sorted array of question IDs with weighted term frequencies (title words count double);
+ * queries intersect the postings of all terms (the last one also matches as a prefix) and rank with BM25.
+ * Loaded lazily from the DB with plain JDBC and kept in sync by QuestionService/QuestionImportService after each commit.
+ */
+@Component
+public class QuestionSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 2f;
+    private static final float OPTION_WEIGHT = 1f;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "the", "this", "that", "to", "was", "what", "which", "with");
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> dictionary = new TreeMap<>(); // Sorted, for prefix expansion
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    private final Map<String, String> canonical = new HashMap<>(); // Shares category/difficulty strings across docs
+    private long totalLength;
+    private volatile boolean loaded = false;
+
+    // Ranked question IDs for one page plus the total number of matches
+    public record Hits(int[] questionIds, float[] scores, int total) {
+    }
+
+    public Hits search(String query, String category, String difficulty, int offset, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) return new Hits(new int[0], new float[0], 0);
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            // One group per query term; the last term also expands to indexed terms it is a prefix of
+            List<Postings[]> groups = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                Postings[] group = i == terms.size() - 1 ? expand(terms.get(i)) : exact(terms.get(i));
+                if (group.length == 0) return new Hits(new int[0], new float[0], 0); // A term with no matches: AND fails
+                groups.add(group);
+            }
+            groups.sort((a, b) -> Integer.compare(groupSize(a), groupSize(b))); // Rarest first bounds the candidates
+
+            double avgLength = docs.isEmpty() ? 1 : (double) totalLength / docs.size();
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(); // Min-heap of the best offset + limit
+            int wanted = offset + limit;
+            int total = 0;
+            for (Postings driver : groups.get(0)) {
+                for (int p = 0; p < driver.size; p++) {
+                    int id = driver.ids[p];
+                    if (groups.get(0).length > 1 && seenInEarlierPostings(groups.get(0), driver, id)) continue;
+                    Doc doc = docs.get(id);
+                    if (doc == null || !matchesFilters(doc, category, difficulty)) continue;
+                    double score = 0;
+                    boolean all = true;
+                    for (Postings[] group : groups) {
+                        double termScore = scoreGroup(group, id, doc.length, avgLength);
+                        if (termScore < 0) { all = false; break; }
+                        score += termScore;
+                    }
+                    if (!all) continue;
+                    total++;
+                    if (top.size() < wanted) {
+                        top.add(new ScoredDoc(id, (float) score));
+                    } else if (score > top.peek().score) {
+                        top.poll();
+                        top.add(new ScoredDoc(id, (float) score));
+                    }
+                }
+            }
+
+            ScoredDoc[] ranked = top.toArray(new ScoredDoc[0]);
+            Arrays.sort(ranked, (a, b) -> a.score != b.score ? Float.compare(b.score, a.score) : Integer.compare(a.id, b.id));
+            int from = Math.min(offset, ranked.length);
+            int[] ids = new int[ranked.length - from];
+            float[] scores = new float[ids.length];
+            for (int i = from; i < ranked.length; i++) {
+                ids[i - from] = ranked[i].id;
+                scores[i - from] = ranked[i].score;
+            }
+            return new Hits(ids, scores, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // (Re-)indexes a created/updated question once the surrounding transaction commits
+    public void index(Question question) {
+        if (question == null || question.getId() <= 0) return;
+        final IndexedQuestion entry = IndexedQuestion.of(question);
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) return; // Checked under the lock the load holds across its SELECT: that read will include it
+                unindex(entry.id());
+                index(entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Indexes freshly inserted questions (bulk import) once the surrounding transaction commits
+    public void indexAll(Collection<Question> questions) {
+        final List<IndexedQuestion> entries = questions.stream().map(IndexedQuestion::of).toList();
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) return;
+                for (IndexedQuestion entry : entries) {
+                    unindex(entry.id());
+                    index(entry);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.debug("Indexed {} imported questions", entries.size());
+        });
+    }
+
+    // Drops a deleted question once the surrounding transaction commits
+    public void remove(int questionId) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) return;
+                unindex(questionId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        lock.writeLock().lock();
+        try {
+            if (loaded) return;
+            long startNanos = System.nanoTime();
+            dictionary.clear(); // Leftovers of an earlier load that failed halfway
+            docs.clear();
+            totalLength = 0;
+            // Plain JDBC rows, no entities: the bank can be large. Commits during the read wait for this lock
+            jdbcTemplate.query(
+                    "SELECT id, category, difficulty_level, question_title, option1, option2, option3, option4 FROM question",
+                    rs -> {
+                        index(new IndexedQuestion(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                                new String[] { rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8) }));
+                    });
+            for (Postings postings : dictionary.values()) postings.trim();
+            loaded = true;
+            logger.info("Question search index built with {} questions and {} terms in {} ms",
+                    docs.size(), dictionary.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(IndexedQuestion question) {
+        Map<String, Float> frequencies = new HashMap<>();
+        for (String term : tokenize(question.title())) frequencies.merge(term, TITLE_WEIGHT, Float::sum);
+        for (String option : question.options()) {
+            for (String term : tokenize(option)) frequencies.merge(term, OPTION_WEIGHT, Float::sum);
+        }
+        float length = 0;
+        String[] terms = new String[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+            dictionary.computeIfAbsent(entry.getKey(), t -> new Postings()).add(question.id(), entry.getValue());
+            length += entry.getValue();
+            terms[i++] = entry.getKey();
+        }
+        docs.put(question.id(), new Doc(canonical(question.category()), canonical(question.difficulty()), terms, length));
+        totalLength += (long) length;
+    }
+
+    private void unindex(int questionId) {
+        Doc doc = docs.remove(questionId);
+        if (doc == null) return;
+        totalLength -= (long) doc.length;
+        for (String term : doc.terms) {
+            Postings postings = dictionary.get(term);
+            if (postings != null && postings.remove(questionId) && postings.size == 0) dictionary.remove(term);
+        }
+    }
+
+    private Postings[] exact(String term) {
+        Postings postings = dictionary.get(term);
+        return postings != null ? new Postings[] { postings } : new Postings[0];
+    }
+
+    private Postings[] expand(String prefix) {
+        if (prefix.length() < MIN_PREFIX_LENGTH) return exact(prefix);
+        NavigableMap<String, Postings> matches = dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        List<Postings> group = new ArrayList<>();
+        for (Postings postings : matches.values()) {
+            group.add(postings);
+            if (group.size() == MAX_PREFIX_EXPANSIONS) break;
+        }
+        return group.toArray(new Postings[0]);
+    }
+
+    // BM25 of the best-matching term in the group, or -1 if no term of the group occurs in the question
+    private double scoreGroup(Postings[] group, int id, float docLength, double avgLength) {
+        double best = -1;
+        for (Postings postings : group) {
+            int index = Arrays.binarySearch(postings.ids, 0, postings.size, id);
+            if (index < 0) continue;
+            double tf = postings.frequencies[index];
+            double idf = Math.log(1 + (docs.size() - postings.size + 0.5) / (postings.size + 0.5));
+            double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLength / avgLength));
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+
+    // For prefix groups the same question can appear in several postings; only the first one drives it
+    private static boolean seenInEarlierPostings(Postings[] group, Postings current, int id) {
+        for (Postings postings : group) {
+            if (postings == current) return false;
+            if (Arrays.binarySearch(postings.ids, 0, postings.size, id) >= 0) return true;
+        }
+        return false;
+    }
+
+    private static int groupSize(Postings[] group) {
+        int size = 0;
+        for (Postings postings : group) size += postings.size;
+        return size;
+    }
+
+    private static boolean matchesFilters(Doc doc, String category, String difficulty) {
+        return (category == null || category.equalsIgnoreCase(doc.category))
+                && (difficulty == null || difficulty.equalsIgnoreCase(doc.difficulty));
+    }
+
+    private String canonical(String value) {
+        return value == null ? null : canonical.computeIfAbsent(value, v -> v);
+    }
+
+    // Lower-cased letter/digit runs; stop words are dropped from queries and documents alike
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) return terms;
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (!current.isEmpty()) {
+                String term = current.toString();
+                if (!STOP_WORDS.contains(term)) terms.add(term);
+                current.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    // Postings of one term: question IDs kept sorted, with parallel weighted frequencies
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private float[] frequencies = new float[4];
+        private int size;
+
+        void add(int id, float frequency) {
+            int index = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0 && index < size) { // Already present
+                frequencies[index] = frequency;
+                return;
+            }
+            if (index < 0) index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+            ids[index] = id;
+            frequencies[index] = frequency;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) return false;
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        void trim() {
+            ids = Arrays.copyOf(ids, Math.max(size, 1));
+            frequencies = Arrays.copyOf(frequencies, Math.max(size, 1));
+        }
+    }
+
+    private record Doc(String category, String difficulty, String[] terms, float length) {
+    }
+
+    private record ScoredDoc(int id, float score) implements Comparable<ScoredDoc> {
+        @Override
+        public int compareTo(ScoredDoc other) {
+            // Heap head is the weakest: lowest score, then highest ID
+            return score != other.score ? Float.compare(score, other.score) : Integer.compare(other.id, id);
+        }
+    }
+
+    private record IndexedQuestion(int id, String category, String difficulty, String title, String[] options) {
+        static IndexedQuestion of(Question q) {
+            return new IndexedQuestion(q.getId(), q.getCategory(), q.getDifficultyLevel(), q.getQuestionTitle(),
+                    new String[] { q.getOption1(), q.getOption2(), q.getOption3(), q.getOption4() });
+        }
+    }
+}
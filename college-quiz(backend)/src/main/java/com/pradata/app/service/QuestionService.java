@@ -1,12 +1,17 @@
 package com.pradata.app.service;
 
+import com.pradata.app.model.KeysetPage;
 import com.pradata.app.model.Question;
+import com.pradata.app.model.QuestionSearchResult;
+import com.pradata.app.model.QuestionStatisticsDto;
 import com.pradata.app.repository.QuestionDao;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException; // Import for specific delete exception
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -14,9 +19,14 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Timed(value = "question.service", description = "QuestionService public methods")
 public class QuestionService {
 
     private static final Logger logger = LoggerFactory.getLogger(QuestionService.class);
@@ -24,17 +34,140 @@ public class QuestionService {
     @Autowired
     QuestionDao questionDao;
 
-    // @Transactional(readOnly = true)
+    @Autowired
+    QuizPaperCache quizPaperCache;
+
+    @Autowired
+    AnswerKeyCache answerKeyCache;
+
+    @Autowired
+    QuestionSearchIndex questionSearchIndex;
+
+    @Autowired
+    QuestionPoolCache questionPoolCache;
+
+    @Autowired
+    QuestionItemStats questionItemStats;
+
+    // Deprecated in favour of getQuestionPage; fetches at most LEGACY_LIST_CAP + 1 rows to detect truncation
+    @Deprecated
+    @Transactional(readOnly = true)
     public ResponseEntity<List<Question>> getAllQuestions(){
         try{
-            List<Question> questions = questionDao.findAll();
-            return new ResponseEntity<>(questions, HttpStatus.OK);
+            List<Question> questions = questionDao.findPageAfter(0, null, null, PageRequest.of(0, KeysetPage.LEGACY_LIST_CAP + 1));
+            if (questions.size() > KeysetPage.LEGACY_LIST_CAP) {
+                logger.warn("Question listing truncated to {} rows; clients should use /api/questions/page", KeysetPage.LEGACY_LIST_CAP);
+            }
+            return KeysetPage.legacyList(questions, "/api/questions/page");
         } catch (Exception e){
             logger.error("Error fetching all questions", e);
             return new ResponseEntity<>(new ArrayList<>(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    // Keyset-paginated question bank; blank filters are ignored
+    @Transactional(readOnly = true)
+    public ResponseEntity<KeysetPage<Question>> getQuestionPage(Integer after, Integer limit, String category, String difficulty) {
+        int pageSize = KeysetPage.clampLimit(limit);
+        try {
+            List<Question> rows = questionDao.findPageAfter(after != null ? after : 0,
+                    StringUtils.hasText(category) ? category : null,
+                    StringUtils.hasText(difficulty) ? difficulty : null,
+                    PageRequest.of(0, pageSize + 1));
+            return new ResponseEntity<>(KeysetPage.of(rows, pageSize, Question::getId), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error fetching question page after {}", after, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Ranked full-text search over titles and options; the index returns IDs, the page of entities is loaded by ID
+    @Transactional(readOnly = true)
+    public ResponseEntity<QuestionSearchResult> searchQuestions(String query, String category, String difficulty,
+                                                                Integer page, Integer size) {
+        if (!StringUtils.hasText(query)) {
+            logger.warn("Attempted question search with blank query");
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        int pageNumber = page != null ? Math.max(0, page) : 0;
+        int pageSize = size == null ? QuestionSearchResult.DEFAULT_SIZE : Math.max(1, Math.min(QuestionSearchResult.MAX_SIZE, size));
+        if ((long) pageNumber * pageSize > QuestionSearchResult.MAX_OFFSET) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            QuestionSearchIndex.Hits hits = questionSearchIndex.search(query,
+                    StringUtils.hasText(category) ? category : null,
+                    StringUtils.hasText(difficulty) ? difficulty : null,
+                    pageNumber * pageSize, pageSize);
+            List<Integer> ids = new ArrayList<>(hits.questionIds().length);
+            for (int id : hits.questionIds()) ids.add(id);
+            Map<Integer, Question> byId = new HashMap<>();
+            for (Question question : questionDao.findAllById(ids)) byId.put(question.getId(), question);
+
+            List<QuestionSearchResult.Hit> results = new ArrayList<>(ids.size());
+            for (int i = 0; i < hits.questionIds().length; i++) {
+                Question question = byId.get(hits.questionIds()[i]);
+                if (question != null) results.add(new QuestionSearchResult.Hit(question, hits.scores()[i])); // Skip rows deleted meanwhile
+            }
+            return new ResponseEntity<>(new QuestionSearchResult(query, hits.total(), pageNumber, pageSize, results), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error searching questions for '{}'", query, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Item analytics of the given questions from the in-memory counters; no attempt scan at query time
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<QuestionStatisticsDto>> getQuestionStatistics(List<Integer> questionIds) {
+        if (questionIds == null || questionIds.isEmpty() || questionIds.size() > KeysetPage.MAX_LIMIT) {
+            logger.warn("Question statistics requested for {} IDs", questionIds == null ? 0 : questionIds.size());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            Map<Integer, Question> byId = new HashMap<>();
+            for (Question question : questionDao.findAllById(questionIds)) byId.put(question.getId(), question);
+            Map<Integer, QuestionItemStats.Snapshot> snapshots = questionItemStats.snapshots(questionIds);
+
+            List<QuestionStatisticsDto> results = new ArrayList<>(byId.size());
+            for (Integer questionId : questionIds) {
+                Question question = byId.remove(questionId); // Also drops repeated IDs
+                if (question != null) results.add(toStatisticsDto(question, snapshots.get(questionId)));
+            }
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error fetching statistics for {} questions", questionIds.size(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    public ResponseEntity<QuestionStatisticsDto> getQuestionStatistics(int id) {
+        ResponseEntity<List<QuestionStatisticsDto>> response = getQuestionStatistics(List.of(id));
+        if (!response.getStatusCode().is2xxSuccessful()) return new ResponseEntity<>(response.getStatusCode());
+        List<QuestionStatisticsDto> results = response.getBody();
+        return results == null || results.isEmpty()
+                ? new ResponseEntity<>(HttpStatus.NOT_FOUND)
+                : new ResponseEntity<>(results.get(0), HttpStatus.OK);
+    }
+
+    private static QuestionStatisticsDto toStatisticsDto(Question question, QuestionItemStats.Snapshot snapshot) {
+        List<QuestionStatisticsDto.OptionCount> options = new ArrayList<>();
+        Set<String> listed = new HashSet<>();
+        String[] texts = { question.getOption1(), question.getOption2(), question.getOption3(), question.getOption4() };
+        for (int i = 0; i < texts.length; i++) {
+            // A repeated option's picks were counted under its first occurrence
+            if (texts[i] == null || !listed.add(texts[i])) continue;
+            long picks = snapshot != null ? snapshot.optionPicks()[i] : 0;
+            options.add(new QuestionStatisticsDto.OptionCount(texts[i], picks, texts[i].equals(question.getRightAnswer())));
+        }
+
+        if (snapshot == null) {
+            return new QuestionStatisticsDto(question.getId(), 0, 0, null, null, 0, options, 0);
+        }
+        Double percentCorrect = snapshot.attempts() > 0 ? 100.0 * snapshot.correct() / snapshot.attempts() : null;
+        return new QuestionStatisticsDto(question.getId(), snapshot.attempts(), snapshot.correct(), percentCorrect,
+                snapshot.discrimination(), snapshot.unanswered(), options, snapshot.otherPicks());
+    }
+
     // @Transactional(readOnly = true)
     public ResponseEntity<List<Question>> getQuestionsByCategory(String category) {
         if (!StringUtils.hasText(category)) {
@@ -60,6 +193,8 @@ public class QuestionService {
         // Optional: Add more validation (e.g., at least one option?)
         try{
             Question savedQuestion = questionDao.save(question);
+            questionSearchIndex.index(savedQuestion);
+            questionPoolCache.index(savedQuestion);
             logger.info("Successfully added new question with ID: {}", savedQuestion.getId());
             return new ResponseEntity<>("Success Added",HttpStatus.CREATED);
         } catch (DataIntegrityViolationException e) {
@@ -80,6 +215,11 @@ public class QuestionService {
         }
         try {
             questionDao.deleteById(id);
+            questionSearchIndex.remove(id);
+            questionPoolCache.remove(id);
+            questionItemStats.remove(id);
+            quizPaperCache.invalidateQuestion(id);
+            answerKeyCache.invalidateQuestion(id);
             logger.info("Successfully deleted question with ID: {}", id);
             return new ResponseEntity<>("Successfully deleted",HttpStatus.OK);
         } catch (DataIntegrityViolationException e) { // Catch constraint violation
@@ -114,6 +254,10 @@ public class QuestionService {
             existingQuestion.setOption4(updatedQuestion.getOption4());
             try {
                 questionDao.save(existingQuestion);
+                questionSearchIndex.index(existingQuestion);
+                questionPoolCache.index(existingQuestion);
+                quizPaperCache.invalidateQuestion(id);
+                answerKeyCache.invalidateQuestion(id);
                 logger.info("Successfully updated question with ID: {}", id);
                 return new ResponseEntity<>("Replacement Done",HttpStatus.OK);
             } catch (Exception e) {
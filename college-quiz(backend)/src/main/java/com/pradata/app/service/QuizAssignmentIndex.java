@@ -0,0 +1,130 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Quiz;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of PUBLISHED quizzes by their assignment criteria.
+ * Roll-number criteria live in a prefix trie and every criterion is also kept in an exact-match hash,
+ * so resolving "which quizzes are assigned to this user" costs O(length of identifier)
+ * instead of re-splitting and scanning the criteria of every published quiz.
+ * Loaded lazily from the DB and kept up to date by QuizService/AdminService after each commit.
+ */
+@Component
+public class QuizAssignmentIndex extends PublishedQuizIndex<String[]> {
+
+    private final TrieNode prefixRoot = new TrieNode();
+    private final Map<String, Set<Integer>> exactCriteria = new HashMap<>();
+    private final Set<Integer> openQuizIds = new HashSet<>(); // Published quizzes without criteria
+    private final Map<Integer, String[]> criteriaByQuizId = new HashMap<>();
+
+    public QuizAssignmentIndex() {
+        super("Assignment index");
+    }
+
+    // Returns IDs of published quizzes (with a time window) assigned to the given user
+    public Set<Integer> findAssignedQuizIds(String userEmailLower, String userIdentifier, boolean isStudent) {
+        ensureLoaded();
+        Set<Integer> result = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            result.addAll(openQuizIds);
+            if (isStudent) {
+                // Student: any criterion that is a prefix of (or equal to) the roll number, or the full email
+                TrieNode node = prefixRoot;
+                result.addAll(node.quizIds);
+                for (int i = 0; i < userIdentifier.length() && node != null; i++) {
+                    node = node.children.get(userIdentifier.charAt(i));
+                    if (node != null) {
+                        result.addAll(node.quizIds);
+                    }
+                }
+                result.addAll(exactCriteria.getOrDefault(userEmailLower, Set.of()));
+            } else {
+                // Non-Student: exact email match only
+                result.addAll(exactCriteria.getOrDefault(userIdentifier, Set.of()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // Same tokenisation the assignment filter has always used; an empty list means open to everyone
+    @Override
+    protected String[] entryOf(Quiz quiz) {
+        if (!"PUBLISHED".equals(quiz.getStatus()) || quiz.getStartTime() == null || quiz.getEndTime() == null) return null;
+        String criteriaString = quiz.getAssignmentCriteria();
+        return StringUtils.hasText(criteriaString) ? criteriaString.toLowerCase().split("\\s*,\\s*") : new String[0];
+    }
+
+    @Override
+    protected void index(Integer quizId, String[] criteriaList) {
+        criteriaByQuizId.put(quizId, criteriaList);
+        if (criteriaList.length == 0) {
+            openQuizIds.add(quizId);
+            return;
+        }
+        for (String criteria : criteriaList) {
+            exactCriteria.computeIfAbsent(criteria, k -> new HashSet<>()).add(quizId);
+            TrieNode node = prefixRoot;
+            for (int i = 0; i < criteria.length(); i++) {
+                node = node.children.computeIfAbsent(criteria.charAt(i), c -> new TrieNode());
+            }
+            node.quizIds.add(quizId);
+        }
+    }
+
+    @Override
+    protected void unindex(Integer quizId) {
+        String[] criteriaList = criteriaByQuizId.remove(quizId);
+        if (criteriaList == null) return;
+        openQuizIds.remove(quizId);
+        for (String criteria : criteriaList) {
+            Set<Integer> ids = exactCriteria.get(criteria);
+            if (ids != null) {
+                ids.remove(quizId);
+                if (ids.isEmpty()) exactCriteria.remove(criteria);
+            }
+            removeFromTrie(prefixRoot, criteria, 0, quizId);
+        }
+    }
+
+    @Override
+    protected void clear() {
+        prefixRoot.children.clear();
+        prefixRoot.quizIds.clear();
+        exactCriteria.clear();
+        openQuizIds.clear();
+        criteriaByQuizId.clear();
+    }
+
+    @Override
+    protected int size() {
+        return criteriaByQuizId.size();
+    }
+
+    // Removes the quiz from the node for this criterion and prunes branches left empty
+    private static boolean removeFromTrie(TrieNode node, String criteria, int depth, Integer quizId) {
+        if (depth == criteria.length()) {
+            node.quizIds.remove(quizId);
+        } else {
+            TrieNode child = node.children.get(criteria.charAt(depth));
+            if (child != null && removeFromTrie(child, criteria, depth + 1, quizId)) {
+                node.children.remove(criteria.charAt(depth));
+            }
+        }
+        return node.quizIds.isEmpty() && node.children.isEmpty();
+    }
+
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private final Set<Integer> quizIds = new HashSet<>();
+    }
+}
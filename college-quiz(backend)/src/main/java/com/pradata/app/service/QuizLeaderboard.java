@@ -0,0 +1,205 @@
+package com.pradata.app.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-quiz ranking of graded submissions.
+ * Each quiz keeps a Fenwick tree of score counts, so rank and percentile of any score cost O(log range),
+ * plus the best TOP_CAPACITY submissions for "top N" lists. Graded scores are added after commit by
+ * QuizService/SubmissionPipeline; a quiz is loaded lazily with one scan of its graded attempts, e.g. after a
+ * restart. Scores committed while that load is running are buffered (PendingChanges) and replayed unless the
+ * scan already read their attempt. Deleting attempts drops the affected boards so they reload.
+ */
+@Component
+public class QuizLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizLeaderboard.class);
+
+    public static final int TOP_CAPACITY = 100;
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator.comparingInt(Entry::score).reversed()
+            .thenComparing(Entry::submissionTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(Entry::attemptId);
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final Map<Integer, Board> boards = new ConcurrentHashMap<>();
+
+    // One graded submission on the board: earlier submissions win ties
+    public record Entry(long attemptId, long studentId, int score, LocalDateTime submissionTime) {
+    }
+
+    // Rank is 1 + number of strictly better scores; percentile is the share of submissions scoring below (ties count half)
+    public record Standing(int rank, long total, double percentile) {
+    }
+
+    // Adds a graded submission once the surrounding transaction commits
+    public void recordScore(Integer quizId, Long attemptId, Long studentId, int score, LocalDateTime submissionTime) {
+        if (quizId == null || attemptId == null) return;
+        final Entry entry = new Entry(attemptId, studentId != null ? studentId : 0L, Math.max(0, score), submissionTime);
+        TransactionHooks.afterCommit(() -> {
+            Board board = boards.get(quizId);
+            if (board == null) return; // Nobody has asked for this quiz: its lazy load reads the committed row
+            synchronized (board) {
+                board.changes.apply(board, entry.attemptId(), b -> b.add(entry));
+            }
+        });
+    }
+
+    // Best submissions of the quiz, at most min(limit, TOP_CAPACITY)
+    public List<Entry> top(Integer quizId, int limit) {
+        Board board = boardOf(quizId);
+        synchronized (board) {
+            List<Entry> result = new ArrayList<>(Math.min(limit, board.top.size()));
+            for (Entry entry : board.top) {
+                if (result.size() == limit) break;
+                result.add(entry);
+            }
+            return result;
+        }
+    }
+
+    public Standing standingOf(Integer quizId, int score) {
+        Board board = boardOf(quizId);
+        synchronized (board) {
+            int s = Math.max(0, score);
+            long below = board.countAtMost(s - 1);
+            long equal = board.countAtMost(s) - below;
+            long total = board.total;
+            long above = total - below - equal;
+            double percentile = total == 0 ? 0 : 100.0 * (below + equal / 2.0) / total;
+            return new Standing((int) above + 1, total, percentile);
+        }
+    }
+
+    public long totalSubmissions(Integer quizId) {
+        Board board = boardOf(quizId);
+        synchronized (board) {
+            return board.total;
+        }
+    }
+
+    // Forgets a quiz whose attempts were deleted, once the surrounding transaction commits
+    public void remove(Integer quizId) {
+        if (quizId == null) return;
+        TransactionHooks.afterCommit(() -> boards.remove(quizId));
+    }
+
+    // Attempts of several quizzes were deleted (e.g. a user was removed): every board reloads on next use
+    public void invalidateAll() {
+        TransactionHooks.afterCommit(boards::clear);
+    }
+
+    // The board is registered before its DB read, so scores committed meanwhile are buffered rather than dropped
+    private Board boardOf(Integer quizId) {
+        Board board = boards.computeIfAbsent(quizId, id -> new Board()); // No I/O inside the map's bin lock
+        if (board.changes.isInstalled()) return board;
+        board.loadLock.lock(); // j.u.c lock: waiting callers park without pinning a carrier thread
+        try {
+            if (!board.changes.isInstalled()) load(quizId, board);
+        } catch (RuntimeException e) {
+            boards.remove(quizId, board); // Next call retries; buffered scores are in the DB anyway
+            throw e;
+        } finally {
+            board.loadLock.unlock();
+        }
+        return board;
+    }
+
+    // One statement, so the counts, the top list and the attempts it read all come from the same snapshot
+    private void load(Integer quizId, Board board) {
+        long startNanos = System.nanoTime();
+        Board loaded = new Board();
+        PendingChanges.ReadIds read = new PendingChanges.ReadIds();
+        jdbcTemplate.query(
+                "SELECT id, student_id, score, submission_time FROM quiz_attempts " +
+                "WHERE quiz_id = ? AND submission_time IS NOT NULL AND score IS NOT NULL",
+                rs -> {
+                    Timestamp submitted = rs.getTimestamp(4);
+                    loaded.add(new Entry(rs.getLong(1), rs.getLong(2), Math.max(0, rs.getInt(3)),
+                            submitted != null ? submitted.toLocalDateTime() : null));
+                    read.add(rs.getLong(1));
+                },
+                quizId);
+        read.sort();
+        synchronized (board) {
+            board.install(loaded);
+            board.changes.install(board, read::contains);
+        }
+        logger.info("Leaderboard for quiz {} loaded with {} submissions in {} ms",
+                quizId, board.total, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    // Score counts in a Fenwick tree (index = score + 1) plus the bounded top list; guarded by its own monitor.
+    // Scores arrive through changes, keyed by attempt ID.
+    private static final class Board {
+        private long[] tree = new long[64];
+        private long total;
+        private final TreeSet<Entry> top = new TreeSet<>(BEST_FIRST);
+        private final PendingChanges<Board, Long> changes = new PendingChanges<>();
+        private final ReentrantLock loadLock = new ReentrantLock();
+
+        // Takes over the freshly read counts and top list; changes.install replays what the read missed
+        void install(Board read) {
+            tree = read.tree;
+            total = read.total;
+            top.addAll(read.top);
+        }
+
+        void add(Entry entry) {
+            addCount(entry.score(), 1);
+            offerTop(entry);
+        }
+
+        void offerTop(Entry entry) {
+            if (top.size() < TOP_CAPACITY) {
+                top.add(entry);
+            } else if (BEST_FIRST.compare(entry, top.last()) < 0) {
+                top.pollLast();
+                top.add(entry);
+            }
+        }
+
+        void addCount(int score, long count) {
+            ensureCapacity(score + 1);
+            for (int i = score + 1; i < tree.length; i += i & -i) tree[i] += count;
+            total += count;
+        }
+
+        // Number of submissions with a score <= the given one
+        long countAtMost(int score) {
+            if (score < 0) return 0;
+            long sum = 0;
+            for (int i = Math.min(score + 1, tree.length - 1); i > 0; i -= i & -i) sum += tree[i];
+            return sum;
+        }
+
+        // Grows to the next power of two and rebuilds the tree from the old per-score counts
+        private void ensureCapacity(int index) {
+            if (index < tree.length) return;
+            int length = tree.length;
+            while (length <= index) length *= 2;
+            long[] counts = new long[tree.length];
+            for (int i = 1; i < tree.length; i++) counts[i] = countAtMost(i - 1) - countAtMost(i - 2);
+            long[] grown = new long[length];
+            for (int i = 1; i < tree.length; i++) {
+                for (int j = i; j < length; j += j & -j) grown[j] += counts[i];
+            }
+            tree = grown;
+        }
+    }
+}
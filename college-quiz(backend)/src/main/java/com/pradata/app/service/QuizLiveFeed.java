@@ -0,0 +1,266 @@
+package com.pradata.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradata.app.model.LiveQuizStatsDto;
+import com.pradata.app.model.UserIdentity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Live submission counters of quizzes that proctors are watching, pushed as server-sent events.
+ * A channel is opened by the first watcher (counters loaded from quiz_attempts once, outside the map's locks),
+ * kept current by QuizService/SubmissionPipeline after each commit, and closed with its last watcher. Changes
+ * are keyed by attempt and kind (PendingChanges): those arriving while the channel loads are buffered, and any
+ * the load already read are dropped rather than counted twice. Changes only mark the channel dirty; a ticker sends at most one frame per interval per quiz, serialized once for all watchers.
+ */
+@Component
+public class QuizLiveFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizLiveFeed.class);
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private UserIdentityCache userIdentityCache;
+    @Autowired private ObjectMapper objectMapper;
+
+    @Value("${app.live.timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    @Value("${app.live.heartbeat-ms:15000}")
+    private long heartbeatMillis;
+
+    private final Map<Integer, Channel> channels = new ConcurrentHashMap<>();
+
+    // Owner or Admin; the first frame is sent right away, later ones only when something changed
+    public ResponseEntity<SseEmitter> subscribe(Integer quizId, String userEmail) {
+        List<Map<String, Object>> quizRows = jdbcTemplate.queryForList(
+                "SELECT created_by_user_id, duration_in_minutes FROM quiz WHERE id = ?", quizId);
+        if (quizRows.isEmpty()) { return new ResponseEntity<>(HttpStatus.NOT_FOUND); }
+
+        Optional<UserIdentity> userOpt = StringUtils.hasText(userEmail) ? userIdentityCache.findByEmail(userEmail) : Optional.empty();
+        if (userOpt.isEmpty()) { return new ResponseEntity<>(HttpStatus.FORBIDDEN); }
+        UserIdentity user = userOpt.get();
+        Object creatorId = quizRows.get(0).get("created_by_user_id");
+        boolean isAdmin = "Admin".equals(user.getRole());
+        boolean isOwner = creatorId != null && ((Number) creatorId).longValue() == user.getId();
+        if (!isAdmin && !isOwner) {
+            logger.warn("Unauthorized attempt to watch live submissions of quiz {} by user {}", quizId, userEmail);
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+
+        Number duration = (Number) quizRows.get(0).get("duration_in_minutes");
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        // Joined inside compute so a concurrent unsubscribe of the last watcher cannot drop the channel in between
+        Channel channel = channels.compute(quizId, (id, current) -> {
+            Channel joined = current != null ? current : new Channel();
+            joined.emitters.add(emitter);
+            return joined;
+        });
+        if (!channel.changes.isInstalled()) {
+            // Watchers of the same quiz wait here; the JDBC read stays out of the map's bin lock
+            channel.loadLock.lock();
+            try {
+                if (!channel.changes.isInstalled()) load(quizId, duration != null ? duration.intValue() : 0, channel);
+            } catch (RuntimeException e) {
+                unsubscribe(quizId, channel, emitter); // A later watcher retries the load
+                throw e;
+            } finally {
+                channel.loadLock.unlock();
+            }
+        }
+        emitter.onCompletion(() -> unsubscribe(quizId, channel, emitter));
+        emitter.onTimeout(() -> {
+            emitter.complete(); // Ends the stream normally; the client reconnects
+            unsubscribe(quizId, channel, emitter);
+        });
+        emitter.onError(e -> unsubscribe(quizId, channel, emitter));
+        try {
+            emitter.send(SseEmitter.event().name("stats").data(objectMapper.writeValueAsString(channel.frame(quizId))));
+        } catch (IOException e) {
+            unsubscribe(quizId, channel, emitter);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        logger.info("User {} watching live submissions of quiz {} ({} watchers)", userEmail, quizId, channel.emitters.size());
+        return new ResponseEntity<>(emitter, HttpStatus.OK);
+    }
+
+    // A new attempt was created (not a resume); a channel opened before the commit must still see it
+    public void recordStart(Integer quizId, long attemptId) {
+        TransactionHooks.afterCommit(() -> update(quizId, new Event(attemptId, Kind.START), channel -> channel.started.incrementAndGet()));
+    }
+
+    // A submission was committed; score is null when grading is deferred to the pipeline
+    public void recordSubmission(Integer quizId, long attemptId, boolean late, Integer score) {
+        TransactionHooks.afterCommit(() -> update(quizId, new Event(attemptId, Kind.SUBMISSION), channel -> {
+            channel.submitted.incrementAndGet();
+            if (late) channel.late.incrementAndGet();
+            if (score != null) channel.addScore(score);
+        }));
+    }
+
+    // Grade of a submission that was counted earlier by recordSubmission(quizId, attemptId, false, null)
+    public void recordScore(Integer quizId, long attemptId, int score) {
+        TransactionHooks.afterCommit(() -> update(quizId, new Event(attemptId, Kind.SCORE), channel -> channel.addScore(score)));
+    }
+
+    // Closes the watchers of a deleted quiz
+    public void remove(Integer quizId) {
+        TransactionHooks.afterCommit(() -> {
+            Channel channel = channels.remove(quizId);
+            if (channel != null) channel.emitters.forEach(SseEmitter::complete);
+        });
+    }
+
+    // Coalesces all changes since the last tick into one frame per quiz
+    @Scheduled(fixedRateString = "${app.live.frame-interval-ms:1000}")
+    public void publish() {
+        long now = System.currentTimeMillis();
+        channels.forEach((quizId, channel) -> {
+            if (!channel.changes.isInstalled()) return; // Its first frame comes from subscribe
+            if (channel.dirty.getAndSet(false)) {
+                try {
+                    String frame = objectMapper.writeValueAsString(channel.frame(quizId));
+                    broadcast(quizId, channel, SseEmitter.event().name("stats").data(frame));
+                } catch (IOException e) {
+                    logger.error("Error serializing live frame of quiz {}: {}", quizId, e.getMessage(), e);
+                }
+            } else if (now - channel.lastSentMillis >= heartbeatMillis) {
+                broadcast(quizId, channel, SseEmitter.event().comment("keep-alive")); // Also detects closed connections
+            }
+        });
+    }
+
+    private void broadcast(Integer quizId, Channel channel, SseEmitter.SseEventBuilder event) {
+        channel.lastSentMillis = System.currentTimeMillis();
+        for (SseEmitter emitter : channel.emitters) {
+            try {
+                emitter.send(event);
+            } catch (Exception e) {
+                logger.debug("Dropping live watcher of quiz {}: {}", quizId, e.getMessage());
+                emitter.completeWithError(e);
+                unsubscribe(quizId, channel, emitter);
+            }
+        }
+    }
+
+    private void update(Integer quizId, Event event, Consumer<Channel> change) {
+        Channel channel = channels.get(quizId);
+        if (channel == null) return; // Nobody watching; the next watcher's load reads the committed row
+        synchronized (channel) {
+            channel.changes.apply(channel, event, change);
+        }
+        channel.dirty.set(true);
+    }
+
+    // Same per-quiz lock as subscribe: the channel is only dropped if nobody joined it meanwhile
+    private void unsubscribe(Integer quizId, Channel channel, SseEmitter emitter) {
+        channels.compute(quizId, (id, current) -> {
+            channel.emitters.remove(emitter);
+            if (current != channel) return current; // Already removed (quiz deleted) or replaced
+            return channel.emitters.isEmpty() ? null : channel; // Reloaded by the next watcher
+        });
+    }
+
+    // Counters from one scan of the quiz's attempts, installed with the attempts it read per kind of change;
+    // lateness is re-derived like submitAttempt does (zero score past duration + 1 min)
+    private void load(Integer quizId, int durationInMinutes, Channel channel) {
+        Channel read = new Channel();
+        PendingChanges.ReadIds started = new PendingChanges.ReadIds();
+        PendingChanges.ReadIds submitted = new PendingChanges.ReadIds();
+        PendingChanges.ReadIds graded = new PendingChanges.ReadIds();
+        jdbcTemplate.query(
+                "SELECT id, start_time, submission_time, score FROM quiz_attempts WHERE quiz_id = ?",
+                rs -> {
+                    long attemptId = rs.getLong(1);
+                    read.started.incrementAndGet();
+                    started.add(attemptId);
+                    Timestamp submissionTime = rs.getTimestamp(3);
+                    if (submissionTime == null) return;
+                    read.submitted.incrementAndGet();
+                    submitted.add(attemptId);
+                    int score = rs.getInt(4);
+                    if (rs.wasNull()) return;
+                    read.addScore(score);
+                    graded.add(attemptId);
+                    Timestamp startTime = rs.getTimestamp(2);
+                    if (score == 0 && startTime != null && ChronoUnit.MINUTES.between(
+                            startTime.toLocalDateTime(), submissionTime.toLocalDateTime()) > durationInMinutes + 1) {
+                        read.late.incrementAndGet();
+                    }
+                },
+                quizId);
+        started.sort();
+        submitted.sort();
+        graded.sort();
+        synchronized (channel) {
+            channel.install(read);
+            channel.changes.install(channel, event -> switch (event.kind()) {
+                case START -> started.contains(event.attemptId());
+                case SUBMISSION -> submitted.contains(event.attemptId());
+                case SCORE -> graded.contains(event.attemptId());
+            });
+        }
+    }
+
+    private enum Kind { START, SUBMISSION, SCORE }
+
+    // What a change counts, so a load can tell whether it already read it
+    private record Event(long attemptId, Kind kind) {
+    }
+
+    private static final class Channel {
+        private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+        private final AtomicLong started = new AtomicLong();
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong late = new AtomicLong();
+        private final AtomicLong graded = new AtomicLong();
+        private final AtomicLong scoreSum = new AtomicLong();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private volatile long lastSentMillis = System.currentTimeMillis();
+        private final ReentrantLock loadLock = new ReentrantLock();
+        private final PendingChanges<Channel, Event> changes = new PendingChanges<>(); // Guarded by this
+
+        // Takes the counters of a load; changes.install replays what the load missed
+        void install(Channel read) {
+            started.set(read.started.get());
+            submitted.set(read.submitted.get());
+            late.set(read.late.get());
+            graded.set(read.graded.get());
+            scoreSum.set(read.scoreSum.get());
+        }
+
+        void addScore(int score) {
+            scoreSum.addAndGet(score);
+            graded.incrementAndGet();
+        }
+
+        LiveQuizStatsDto frame(Integer quizId) {
+            long gradedCount = graded.get();
+            Double average = gradedCount > 0 ? (double) scoreSum.get() / gradedCount : null;
+            return new LiveQuizStatsDto(quizId, started.get(), submitted.get(), late.get(), gradedCount, average, LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.pradata.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-quiz outcome counters for the exam flow:
+ * quiz.attempts.started{quiz, outcome} and quiz.submissions{quiz, outcome} (graded, accepted, late, ...).
+ * Tagged by quiz ID so a dashboard can follow one exam. The ID comes from the request path, so it is only used
+ * once the quiz is known to exist; not_found and error starts are tagged quiz="unknown" to keep the series bounded.
+ */
+@Component
+public class QuizMetrics {
+
+    private static final String UNKNOWN_QUIZ = "unknown";
+
+    @Autowired private MeterRegistry meterRegistry;
+
+    // Start outcome derived from the startQuiz response
+    public void recordStart(int quizId, HttpStatusCode status) {
+        String outcome = switch (status.value()) {
+            case 200 -> "started";
+            case 403 -> "outside_window";
+            case 404 -> "not_found";
+            case 409 -> "already_submitted";
+            default -> "error";
+        };
+        // 404/other errors may carry any path ID (or a missing student), so they do not get their own series
+        boolean quizKnown = !"not_found".equals(outcome) && !"error".equals(outcome);
+        increment("quiz.attempts.started", quizKnown ? String.valueOf(quizId) : UNKNOWN_QUIZ, outcome);
+    }
+
+    // Admission gates exist only for live published quizzes, so a throttled start names a real quiz
+    public void recordStartRejected(int quizId) {
+        increment("quiz.attempts.started", String.valueOf(quizId), "throttled");
+    }
+
+    // Counted once the submission is committed
+    public void recordSubmission(Integer quizId, String outcome) {
+        // Callers pass the ID of a loaded quiz
+        TransactionHooks.afterCommit(() -> increment("quiz.submissions", String.valueOf(quizId), outcome));
+    }
+
+    private void increment(String name, String quiz, String outcome) {
+        Counter.builder(name)
+                .tag("quiz", quiz)
+                .tag("outcome", outcome)
+                .register(meterRegistry) // Returns the existing counter after the first call
+                .increment();
+    }
+}
@@ -0,0 +1,94 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Question;
+import com.pradata.app.model.QuestionWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Immutable snapshot of a quiz's question paper (IDs, titles and non-null options in compact arrays).
+ * A per-attempt seed drives the question/option permutation, so the same seed always renders the same paper.
+ */
+public final class QuizPaper {
+
+    private final int[] questionIds;
+    private final String[] titles;
+    private final String[][] options;
+
+    private QuizPaper(int[] questionIds, String[] titles, String[][] options) {
+        this.questionIds = questionIds;
+        this.titles = titles;
+        this.options = options;
+    }
+
+    public static QuizPaper of(List<Question> questions) {
+        int n = questions.size();
+        int[] ids = new int[n];
+        String[] titles = new String[n];
+        String[][] options = new String[n][];
+        for (int i = 0; i < n; i++) {
+            Question q = questions.get(i);
+            ids[i] = q.getId();
+            titles[i] = q.getQuestionTitle();
+            options[i] = nonNullOptions(q);
+        }
+        return new QuizPaper(ids, titles, options);
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    public boolean containsQuestion(int questionId) {
+        for (int id : questionIds) {
+            if (id == questionId) return true;
+        }
+        return false;
+    }
+
+    // Builds the wrappers in the order (and with the option order) derived from the seed
+    public List<QuestionWrapper> render(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int n = questionIds.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        shuffle(order, random);
+
+        List<QuestionWrapper> wrappers = new ArrayList<>(n);
+        String[] shuffled = new String[4];
+        for (int index : order) {
+            String[] opts = options[index];
+            System.arraycopy(opts, 0, shuffled, 0, opts.length);
+            for (int i = opts.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                String tmp = shuffled[i]; shuffled[i] = shuffled[j]; shuffled[j] = tmp;
+            }
+            wrappers.add(new QuestionWrapper(questionIds[index], titles[index],
+                    opts.length > 0 ? shuffled[0] : null,
+                    opts.length > 1 ? shuffled[1] : null,
+                    opts.length > 2 ? shuffled[2] : null,
+                    opts.length > 3 ? shuffled[3] : null));
+        }
+        return wrappers;
+    }
+
+    private static void shuffle(int[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i]; values[i] = values[j]; values[j] = tmp;
+        }
+    }
+
+    private static String[] nonNullOptions(Question q) {
+        String[] all = { q.getOption1(), q.getOption2(), q.getOption3(), q.getOption4() };
+        int count = 0;
+        for (String option : all) {
+            if (option != null) all[count++] = option;
+        }
+        String[] result = new String[count];
+        System.arraycopy(all, 0, result, 0, count);
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Quiz;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches one immutable QuizPaper per quiz so starting an attempt does not reload and re-wrap the question set.
+ * Entries are dropped after commit when the quiz or any of its questions is edited.
+ */
+@Component
+public class QuizPaperCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizPaperCache.class);
+
+    private final Map<Integer, QuizPaper> papers = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a paper built from pre-edit data is never kept
+    private final AtomicLong version = new AtomicLong();
+
+    // Returns the cached paper, building it from the (lazily loaded) quiz questions on a miss
+    public QuizPaper getOrLoad(Quiz quiz) {
+        QuizPaper paper = papers.get(quiz.getId());
+        if (paper != null) return paper;
+
+        long versionBeforeLoad = version.get();
+        paper = QuizPaper.of(quiz.getQuestions());
+        if (paper.size() == 0) return paper; // Don't cache an unusable paper
+        papers.put(quiz.getId(), paper);
+        if (version.get() != versionBeforeLoad) {
+            papers.remove(quiz.getId());
+        }
+        logger.debug("Cached paper for quiz {} with {} questions", quiz.getId(), paper.size());
+        return paper;
+    }
+
+    public void invalidateQuiz(Integer quizId) {
+        if (quizId == null) return;
+        TransactionHooks.afterCommit(() -> {
+            version.incrementAndGet();
+            papers.remove(quizId);
+        });
+    }
+
+    public void invalidateQuestion(int questionId) {
+        TransactionHooks.afterCommit(() -> {
+            version.incrementAndGet();
+            papers.values().removeIf(paper -> paper.containsQuestion(questionId));
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Quiz;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Schedule of PUBLISHED quizzes that have a time window.
+ * Quizzes sit in time-ordered buckets ("upcoming" by start time, "live" by end time) and are moved
+ * between upcoming -> live -> closed lazily as the clock passes, so callers can ask for the phase
+ * of a quiz without fetching it. Refreshed by QuizService/AdminService after each commit.
+ */
+@Component
+public class QuizScheduleIndex extends PublishedQuizIndex<QuizScheduleIndex.Window> {
+
+    public enum Phase { UPCOMING, LIVE, CLOSED }
+
+    private final TreeMap<LocalDateTime, Set<Integer>> upcomingByStart = new TreeMap<>();
+    private final TreeMap<LocalDateTime, Set<Integer>> liveByEnd = new TreeMap<>();
+    private final Map<Integer, Window> windows = new HashMap<>();
+    private final Map<Integer, Phase> phases = new HashMap<>();
+
+    public QuizScheduleIndex() {
+        super("Schedule index");
+    }
+
+    // Phase of the quiz at the given time, or null if it is not a published quiz with a time window
+    public Phase phaseOf(Integer quizId, LocalDateTime now) {
+        ensureLoaded();
+        advance(now);
+        lock.readLock().lock();
+        try {
+            return phases.get(quizId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keeps only quizzes that are still upcoming or live at the given time
+    public void retainNotClosed(Set<Integer> quizIds, LocalDateTime now) {
+        ensureLoaded();
+        advance(now);
+        lock.readLock().lock();
+        try {
+            quizIds.removeIf(id -> {
+                Phase phase = phases.get(id);
+                return phase == null || phase == Phase.CLOSED;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected Window entryOf(Quiz quiz) {
+        if (!"PUBLISHED".equals(quiz.getStatus()) || quiz.getStartTime() == null || quiz.getEndTime() == null) return null;
+        return new Window(quiz.getStartTime(), quiz.getEndTime());
+    }
+
+    // New entries always start as upcoming; advance() moves them on with the next lookup
+    @Override
+    protected void index(Integer quizId, Window window) {
+        windows.put(quizId, window);
+        phases.put(quizId, Phase.UPCOMING);
+        addToBucket(upcomingByStart, window.start(), quizId);
+    }
+
+    @Override
+    protected void unindex(Integer quizId) {
+        Window window = windows.remove(quizId);
+        Phase phase = phases.remove(quizId);
+        if (window == null) return;
+        if (phase == Phase.UPCOMING) removeFromBucket(upcomingByStart, window.start(), quizId);
+        if (phase == Phase.LIVE) removeFromBucket(liveByEnd, window.end(), quizId);
+    }
+
+    @Override
+    protected void clear() {
+        upcomingByStart.clear();
+        liveByEnd.clear();
+        windows.clear();
+        phases.clear();
+    }
+
+    @Override
+    protected int size() {
+        return windows.size();
+    }
+
+    // Moves quizzes whose start/end has passed; only takes the write lock when something is due
+    private void advance(LocalDateTime now) {
+        lock.readLock().lock();
+        try {
+            if (!isDue(now)) return;
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            // Live once now >= start
+            while (!upcomingByStart.isEmpty() && !upcomingByStart.firstKey().isAfter(now)) {
+                for (Integer quizId : upcomingByStart.pollFirstEntry().getValue()) {
+                    addToBucket(liveByEnd, windows.get(quizId).end(), quizId);
+                    phases.put(quizId, Phase.LIVE);
+                }
+            }
+            // Closed once now > end
+            while (!liveByEnd.isEmpty() && liveByEnd.firstKey().isBefore(now)) {
+                for (Integer quizId : liveByEnd.pollFirstEntry().getValue()) {
+                    phases.put(quizId, Phase.CLOSED);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isDue(LocalDateTime now) {
+        return (!upcomingByStart.isEmpty() && !upcomingByStart.firstKey().isAfter(now))
+                || (!liveByEnd.isEmpty() && liveByEnd.firstKey().isBefore(now));
+    }
+
+    private static void addToBucket(TreeMap<LocalDateTime, Set<Integer>> buckets, LocalDateTime key, Integer quizId) {
+        buckets.computeIfAbsent(key, k -> new HashSet<>()).add(quizId);
+    }
+
+    private static void removeFromBucket(TreeMap<LocalDateTime, Set<Integer>> buckets, LocalDateTime key, Integer quizId) {
+        Set<Integer> ids = buckets.get(key);
+        if (ids == null) return;
+        ids.remove(quizId);
+        if (ids.isEmpty()) buckets.remove(key);
+    }
+
+    public record Window(LocalDateTime start, LocalDateTime end) {
+    }
+}
@@ -3,16 +3,19 @@ package com.pradata.app.service;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 import com.pradata.app.model.*;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,15 +24,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Ensure this is imported
-import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import com.pradata.app.repository.QuestionDao;
+import com.pradata.app.repository.QuizAttemptAnswerDao;
 import com.pradata.app.repository.QuizAttemptDao;
 import com.pradata.app.repository.QuizDao;
 import com.pradata.app.repository.UserDao;
 
 @Service
+@Timed(value = "quiz.service", description = "QuizService public methods") // Timer per method (class/method tags)
 public class QuizService {
 
     private static final Logger logger = LoggerFactory.getLogger(QuizService.class);
@@ -37,7 +41,23 @@ public class QuizService {
     @Autowired private QuizDao quizDao;
     @Autowired private QuestionDao questionDao;
     @Autowired private UserDao userDao;
+    @Autowired private UserIdentityCache userIdentityCache;
     @Autowired private QuizAttemptDao quizAttemptDao;
+    @Autowired private QuizAssignmentIndex quizAssignmentIndex;
+    @Autowired private QuizScheduleIndex quizScheduleIndex;
+    @Autowired private QuizPaperCache quizPaperCache;
+    @Autowired private AnswerKeyCache answerKeyCache;
+    @Autowired private SubmissionPipeline submissionPipeline;
+    @Autowired private ResponseCodec responseCodec;
+    @Autowired private AttemptAnswerStore attemptAnswerStore;
+    @Autowired private QuizAttemptAnswerDao quizAttemptAnswerDao;
+    @Autowired private QuizMetrics quizMetrics;
+    @Autowired private QuestionPoolCache questionPoolCache;
+    @Autowired private QuizLeaderboard quizLeaderboard;
+    @Autowired private QuizStatisticsService quizStatisticsService;
+    @Autowired private QuestionItemStats questionItemStats;
+    @Autowired private QuizLiveFeed quizLiveFeed;
+    @Autowired private AttemptAutosave attemptAutosave;
 
     @Transactional
 // *** MODIFIED SIGNATURE ***
@@ -47,9 +67,9 @@ public class QuizService {
             logger.warn("createOrUpdateQuiz called with null DTO or email");
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        Optional<User> creatorOpt = userDao.findByEmail(userEmail);
+        Optional<UserIdentity> creatorOpt = userIdentityCache.findByEmail(userEmail);
         if (creatorOpt.isEmpty()) { /* ... handle user not found ... */ }
-        User creator = creatorOpt.get();
+        UserIdentity creator = creatorOpt.get();
         boolean isAdmin = "Admin".equals(creator.getRole());
         boolean isFacultyWithDomain = "Faculty".equals(creator.getRole());
         if (!(isAdmin || isFacultyWithDomain)) { /* ... handle forbidden ... */ }
@@ -82,7 +102,7 @@ public class QuizService {
                 quizToSave = existingQuizOpt.get(); // Load the managed entity
 
                 // Check ownership
-                if (!isAdmin && (quizToSave.getCreatedBy() == null || !quizToSave.getCreatedBy().getEmail().equals(userEmail))) {
+                if (!isAdmin && (quizToSave.getCreatedBy() == null || !quizToSave.getCreatedBy().getId().equals(creator.getId()))) {
                     /* ... handle forbidden ... */
                 }
 
@@ -90,7 +110,7 @@ public class QuizService {
 
             } else { // --- CREATE PATH ---
                 quizToSave = new Quiz(); // Create a new entity instance
-                quizToSave.setCreatedBy(creator);
+                quizToSave.setCreatedBy(userDao.getReferenceById(creator.getId())); // Reference only, no SELECT
                 logger.info("Creating new Quiz.");
             }
 
@@ -121,6 +141,10 @@ public class QuizService {
 
             logger.info("About to call quizDao.save() for quiz ID: {}", quizToSave.getId());
             Quiz savedQuiz = quizDao.save(quizToSave); // Save the mapped entity
+            quizAssignmentIndex.refresh(savedQuiz);
+            quizScheduleIndex.refresh(savedQuiz);
+            quizPaperCache.invalidateQuiz(savedQuiz.getId());
+            answerKeyCache.invalidateQuiz(savedQuiz.getId());
             logger.info("Successfully saved quiz ID: {}. Associated questions count in object: {}", savedQuiz.getId(), savedQuiz.getQuestions().size());
 
             return new ResponseEntity<>(savedQuiz, (quizId == null) ? HttpStatus.CREATED : HttpStatus.OK);
@@ -131,12 +155,65 @@ public class QuizService {
         }
     }
 
+    // Samples questions for each blueprint section from the cached pools and saves the result as a new quiz
+    @Transactional
+    public ResponseEntity<?> generateQuizFromBlueprint(QuizBlueprintDto blueprint, String userEmail) {
+        if (blueprint == null || blueprint.getQuiz() == null || blueprint.getSections() == null || blueprint.getSections().isEmpty()) {
+            logger.warn("generateQuizFromBlueprint called with an empty blueprint");
+            return new ResponseEntity<>("Blueprint must contain quiz details and at least one section", HttpStatus.BAD_REQUEST);
+        }
+        Random random = blueprint.getSeed() != null ? new Random(blueprint.getSeed()) : ThreadLocalRandom.current();
+
+        // Sections with a fixed difficulty go first so "any difficulty" sections cannot use up their questions
+        List<QuizBlueprintDto.Section> sections = new ArrayList<>(blueprint.getSections());
+        sections.sort((a, b) -> Boolean.compare(!StringUtils.hasText(a.getDifficulty()), !StringUtils.hasText(b.getDifficulty())));
+        Set<Integer> selected = new LinkedHashSet<>();
+        for (QuizBlueprintDto.Section section : sections) {
+            String difficulty = StringUtils.hasText(section.getDifficulty()) ? section.getDifficulty() : null;
+            List<Integer> picked = questionPoolCache.sample(section.getCategory(), difficulty, section.getCount(), selected, random);
+            if (picked == null) {
+                int available = questionPoolCache.available(section.getCategory(), difficulty);
+                logger.warn("Blueprint section {}/{} asks for {} questions, only {} available",
+                        section.getCategory(), difficulty, section.getCount(), available);
+                return new ResponseEntity<>("Not enough questions for " + section.getCategory()
+                        + (difficulty != null ? " (" + difficulty + ")" : "") + ": requested " + section.getCount()
+                        + ", available " + available + " not already used by an earlier section", HttpStatus.BAD_REQUEST);
+            }
+            selected.addAll(picked);
+        }
+        logger.info("Blueprint with {} sections generated {} questions", sections.size(), selected.size());
+
+        QuizRequestDto quizDto = blueprint.getQuiz();
+        quizDto.setQuestionIds(new ArrayList<>(selected));
+        return createOrUpdateQuiz(null, quizDto, userEmail);
+    }
+
     // Read methods use readOnly transaction for performance and LazyInitialization prevention
+    // Single quiz with its questions for the edit form; list endpoints only carry summaries
+    @Transactional(readOnly = true)
+    public ResponseEntity<Quiz> getQuizForEditing(Integer quizId, String userEmail) {
+        Optional<UserIdentity> userOpt = userIdentityCache.findByEmail(userEmail);
+        if (userOpt.isEmpty()) { return new ResponseEntity<>(HttpStatus.FORBIDDEN); }
+        UserIdentity user = userOpt.get();
+
+        Optional<Quiz> quizOpt = quizDao.findWithQuestionsById(quizId);
+        if (quizOpt.isEmpty()) { return new ResponseEntity<>(HttpStatus.NOT_FOUND); }
+        Quiz quiz = quizOpt.get();
+
+        boolean isAdmin = "Admin".equals(user.getRole());
+        boolean isOwner = quiz.getCreatedBy() != null && quiz.getCreatedBy().getId().equals(user.getId());
+        if (!isAdmin && !isOwner) {
+            logger.warn("Unauthorized attempt to load quiz {} for editing by user {}", quizId, userEmail);
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return new ResponseEntity<>(quiz, HttpStatus.OK);
+    }
+
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Quiz>> getQuizzesByCreator(String userEmail) {
-        Optional<User> creatorOpt = userDao.findByEmail(userEmail);
+    public ResponseEntity<List<QuizSummaryDto>> getQuizzesByCreator(String userEmail) {
+        Optional<UserIdentity> creatorOpt = userIdentityCache.findByEmail(userEmail);
         if (creatorOpt.isEmpty()) { return new ResponseEntity<>(HttpStatus.FORBIDDEN); }
-        User creator = creatorOpt.get();
+        UserIdentity creator = creatorOpt.get();
 
         boolean isAdmin = "Admin".equals(creator.getRole());
         boolean isFacultyWithDomain = "Faculty".equals(creator.getRole());
@@ -145,8 +222,7 @@ public class QuizService {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
         try {
-            List<Quiz> quizzes = quizDao.findByCreatedBy(creator);
-            // Note: Questions might be loaded due to EAGER fetch, but will be ignored by JSON due to @JsonIgnore
+            List<QuizSummaryDto> quizzes = quizDao.findSummariesByCreatorId(creator.getId()); // One query, counts instead of question lists
             logger.info("Fetched {} quizzes for creator {}", quizzes.size(), userEmail);
             return new ResponseEntity<>(quizzes, HttpStatus.OK);
         } catch (Exception e) {
@@ -162,16 +238,16 @@ public class QuizService {
         Optional<Quiz> quizOpt = quizDao.findById(quizId);
         if (quizOpt.isEmpty()) { return new ResponseEntity<>("Quiz not found", HttpStatus.NOT_FOUND); }
 
-        Optional<User> userOpt = userDao.findByEmail(userEmail);
+        Optional<UserIdentity> userOpt = userIdentityCache.findByEmail(userEmail);
         if (userOpt.isEmpty()) {
             logger.warn("Attempt to delete quiz {} by non-existent user {}", quizId, userEmail);
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
-        User user = userOpt.get();
+        UserIdentity user = userOpt.get();
 
         boolean isAdmin = "Admin".equals(user.getRole());
         // Quiz object is present, safe to get()
-        boolean isOwner = quizOpt.get().getCreatedBy() != null && quizOpt.get().getCreatedBy().getEmail().equals(userEmail);
+        boolean isOwner = quizOpt.get().getCreatedBy() != null && quizOpt.get().getCreatedBy().getId().equals(user.getId()); // Proxy id, no user load
         boolean isFacultyOwnerWithDomain = isOwner && "Faculty".equals(user.getRole());
 
         if (!isAdmin && !isFacultyOwnerWithDomain) {
@@ -181,9 +257,18 @@ public class QuizService {
 
         try {
             logger.info("Attempting to delete attempts for Quiz ID: {}", quizId);
+            quizAttemptAnswerDao.deleteByQuizId(quizId); // Stored answers of those attempts go first
             quizAttemptDao.deleteByQuizId(quizId); // Delete related attempts first
             logger.info("Attempting to delete Quiz ID: {}", quizId);
             quizDao.deleteById(quizId); // Then delete the quiz
+            quizAssignmentIndex.remove(quizId);
+            quizScheduleIndex.remove(quizId);
+            quizLeaderboard.remove(quizId);
+            quizStatisticsService.remove(quizId);
+            questionItemStats.invalidateAll(); // Answers of the quiz's attempts are gone
+            quizLiveFeed.remove(quizId);
+            quizPaperCache.invalidateQuiz(quizId);
+            answerKeyCache.invalidateQuiz(quizId);
             logger.info("Quiz {} deleted successfully by user {}", quizId, userEmail);
             return new ResponseEntity<>("Quiz deleted successfully", HttpStatus.OK);
         } catch (DataIntegrityViolationException e) {
@@ -196,20 +281,11 @@ public class QuizService {
     }
 
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Quiz>> getAssignedQuizzesForUser(String userEmail) {
+    public ResponseEntity<List<QuizSummaryDto>> getAssignedQuizzesForUser(String userEmail) {
         if (!StringUtils.hasText(userEmail)) {
             return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
         }
 
-        List<Quiz> allPublishedQuizzes;
-        try {
-            allPublishedQuizzes = quizDao.findByStatus("PUBLISHED");
-            logger.debug("Fetched {} published quizzes.", allPublishedQuizzes.size());
-        } catch (Exception e) {
-            logger.error("Error fetching published quizzes: {}", e.getMessage(), e);
-            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.INTERNAL_SERVER_ERROR);
-        }
-
         final String userEmailLower = userEmail.toLowerCase();
         final String userIdentifier;
         final boolean isStudent = userEmailLower.endsWith("@student.nitw.ac.in");
@@ -229,36 +305,18 @@ public class QuizService {
         logger.debug("User {} identified as {} with identifier '{}'", userEmail, isStudent ? "Student" : "Non-Student", userIdentifier);
 
 
-        List<Quiz> assignedQuizzes = allPublishedQuizzes.stream()
-                .filter(quiz -> {
-                    // Basic validity check
-                    if (quiz.getStartTime() == null || quiz.getEndTime() == null) {
-                        logger.trace("Filtering out Quiz ID {} due to null start/end time.", quiz.getId());
-                        return false;
-                    }
-
-                    // Check assignment criteria
-                    String criteriaString = quiz.getAssignmentCriteria();
-                    if (!StringUtils.hasText(criteriaString)) {
-                        logger.trace("Quiz ID {} matches user {} (no criteria).", quiz.getId(), userEmail);
-                        return true; // No criteria = available to all PUBLISHED quizzes
-                    }
-
-                    List<String> criteriaList = Arrays.asList(criteriaString.toLowerCase().split("\\s*,\\s*"));
-
-                    boolean matches = criteriaList.stream().anyMatch(criteria ->
-                            isStudent
-                                    ? (userIdentifier.startsWith(criteria) || userIdentifier.equals(criteria) || userEmailLower.equals(criteria)) // Student: prefix, roll, or full email
-                                    : userIdentifier.equals(criteria) // Non-Student: exact email match
-                    );
-                    if (matches) {
-                        logger.trace("Quiz ID {} matches user {} based on criteria.", quiz.getId(), userEmail);
-                    } else {
-                        logger.trace("Quiz ID {} does NOT match user {} based on criteria.", quiz.getId(), userEmail);
-                    }
-                    return matches;
-                })
-                .collect(Collectors.toList());
+        // Resolve matching quiz IDs from the compiled criteria index, then load only those quizzes
+        List<QuizSummaryDto> assignedQuizzes;
+        try {
+            Set<Integer> assignedQuizIds = quizAssignmentIndex.findAssignedQuizIds(userEmailLower, userIdentifier, isStudent);
+            quizScheduleIndex.retainNotClosed(assignedQuizIds, LocalDateTime.now()); // Closed quizzes can no longer be taken
+            logger.debug("Assignment index matched {} quizzes for user {}", assignedQuizIds.size(), userEmail);
+            // Summaries only: questions (and their right answers) are served per attempt by startQuiz
+            assignedQuizzes = assignedQuizIds.isEmpty() ? Collections.emptyList() : quizDao.findSummariesByIdIn(assignedQuizIds);
+        } catch (Exception e) {
+            logger.error("Error fetching assigned quizzes for user {}: {}", userEmail, e.getMessage(), e);
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
 
         logger.info("Found {} assigned quizzes for user {}", assignedQuizzes.size(), userEmail);
         return new ResponseEntity<>(assignedQuizzes, HttpStatus.OK);
@@ -266,8 +324,13 @@ public class QuizService {
 
     @Transactional // Creates a QuizAttempt, so needs a transaction
     public ResponseEntity<?> startQuiz(int quizId, String userEmail) {
+        // Reject outside the time window straight from the schedule index, before touching the DB
+        QuizScheduleIndex.Phase phase = quizScheduleIndex.phaseOf(quizId, LocalDateTime.now());
+        if (phase == QuizScheduleIndex.Phase.UPCOMING) { return new ResponseEntity<>("Quiz has not started yet.", HttpStatus.FORBIDDEN); }
+        if (phase == QuizScheduleIndex.Phase.CLOSED) { return new ResponseEntity<>("Quiz entry window has closed.", HttpStatus.FORBIDDEN); }
+
         Optional<Quiz> quizOpt = quizDao.findById(quizId);
-        Optional<User> studentOpt = userDao.findByEmail(userEmail); // Fetch Optional first
+        Optional<UserIdentity> studentOpt = userIdentityCache.findByEmail(userEmail); // Fetch Optional first
 
         // --- Basic Checks ---
         if (quizOpt.isEmpty()) {
@@ -280,7 +343,7 @@ public class QuizService {
         }
 
         Quiz quiz = quizOpt.get();
-        User student = studentOpt.get();
+        UserIdentity student = studentOpt.get();
 
         // --- Permission/Status Checks ---
         boolean alreadySubmitted = quizAttemptDao.existsByQuizIdAndStudentIdAndSubmissionTimeIsNotNull(quizId, student.getId());
@@ -294,48 +357,42 @@ public class QuizService {
         if (now.isBefore(quiz.getStartTime())) { /* ... handle not started yet ... */ return new ResponseEntity<>("Quiz has not started yet.", HttpStatus.FORBIDDEN); }
         if (now.isAfter(quiz.getEndTime())) { /* ... handle ended ... */ return new ResponseEntity<>("Quiz entry window has closed.", HttpStatus.FORBIDDEN); }
 
-        // --- Create Attempt ---
-        QuizAttempt attempt = new QuizAttempt();
-        attempt.setQuiz(quiz); // Still link the full entity internally
-        attempt.setStudent(student);
-        attempt.setStartTime(LocalDateTime.now());
-        QuizAttempt savedAttempt;
-        try {
-            savedAttempt = quizAttemptDao.save(attempt);
-        } catch (Exception e) { /* ... handle save error ... */ return new ResponseEntity<>("Failed to initialize quiz attempt.", HttpStatus.INTERNAL_SERVER_ERROR); }
-
-        // --- Load and Prepare Questions ---
-        List<QuestionWrapper> questionsForUser = new ArrayList<>();
-        List<Question> originalQuestions;
+        // --- Load the (cached) question paper ---
+        QuizPaper paper;
         try {
-            logger.info("Loading questions for Quiz ID: {} within startQuiz transaction.", quizId);
-            // Use FetchType.LAZY in Quiz.java for questions now
-            // Accessing questions here will trigger loading within the transaction
-            originalQuestions = new ArrayList<>(quiz.getQuestions());
-
-            if (originalQuestions.isEmpty()) {
+            // Cache hit avoids loading quiz.getQuestions(); a miss loads them within this transaction
+            paper = quizPaperCache.getOrLoad(quiz);
+            if (paper.size() == 0) {
                 logger.error("CRITICAL: Quiz ID {} has ZERO questions associated after loading!", quizId);
                 return new ResponseEntity<>("Quiz has no questions configured.", HttpStatus.INTERNAL_SERVER_ERROR);
             }
-            logger.info("Successfully loaded {} questions for Quiz ID: {}", originalQuestions.size(), quizId);
-
-            // Shuffle questions and their options
-            Collections.shuffle(originalQuestions);
-            for (Question q : originalQuestions) {
-                List<String> options = new ArrayList<>(Arrays.asList(q.getOption1(), q.getOption2(), q.getOption3(), q.getOption4()));
-                options.removeIf(Objects::isNull);
-                Collections.shuffle(options);
-                questionsForUser.add(new QuestionWrapper(q.getId(), q.getQuestionTitle(),
-                        options.size() > 0 ? options.get(0) : null,
-                        options.size() > 1 ? options.get(1) : null,
-                        options.size() > 2 ? options.get(2) : null,
-                        options.size() > 3 ? options.get(3) : null));
-            }
         } catch (Exception e) {
             logger.error("Error loading/processing questions for quiz {} during start attempt: {}", quizId, e.getMessage(), e);
             return new ResponseEntity<>("Error preparing quiz questions.", HttpStatus.INTERNAL_SERVER_ERROR);
         }
 
+        // --- Create Attempt (or resume the open one, e.g. after a page refresh) ---
+        QuizAttempt savedAttempt;
+        try {
+            Optional<QuizAttempt> openAttempt = quizAttemptDao
+                    .findFirstByQuizIdAndStudentIdAndSubmissionTimeIsNullOrderByStartTimeDesc(quizId, student.getId());
+            if (openAttempt.isPresent() && openAttempt.get().getPaperSeed() != null) {
+                savedAttempt = openAttempt.get();
+                logger.info("User {} resumed open attempt {} for quiz {}", userEmail, savedAttempt.getId(), quizId);
+            } else {
+                QuizAttempt attempt = new QuizAttempt();
+                attempt.setQuiz(quiz); // Still link the full entity internally
+                attempt.setStudent(userDao.getReferenceById(student.getId()));
+                attempt.setStartTime(LocalDateTime.now());
+                attempt.setPaperSeed(ThreadLocalRandom.current().nextLong()); // Drives this attempt's question/option order
+                savedAttempt = quizAttemptDao.save(attempt);
+                quizLiveFeed.recordStart(quizId, savedAttempt.getId());
+            }
+        } catch (Exception e) { /* ... handle save error ... */ return new ResponseEntity<>("Failed to initialize quiz attempt.", HttpStatus.INTERNAL_SERVER_ERROR); }
+
+        // Same seed -> same paper, so a resumed attempt sees exactly what it saw before
+        List<QuestionWrapper> questionsForUser = paper.render(savedAttempt.getPaperSeed());
+
         // --- Prepare and Send Response (Modified) ---
         Map<String, Object> response = new HashMap<>();
         response.put("attemptId", savedAttempt.getId());
@@ -351,15 +408,27 @@ public class QuizService {
         response.put("quiz", quizInfo); // Send this simplified map
 
         response.put("questions", questionsForUser); // Send the prepared wrappers
+        response.put("savedAnswers", attemptAutosave.savedAnswers(savedAttempt.getId(), savedAttempt.getSavedAnswers())); // Empty for a fresh attempt
 
         logger.info("User {} started attempt {} for quiz {}. Sending {} questions.", userEmail, savedAttempt.getId(), quizId, questionsForUser.size());
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
     @Transactional // Updates QuizAttempt score and submission time
     public ResponseEntity<Integer> calculateResult(Long attemptId, List<Response> responses, String userEmail) {
+        return submitAttempt(attemptId, responses, userEmail, false);
+    }
+
+    // Async mode: records the submission (time + encoded responses) and leaves grading to SubmissionPipeline.
+    // Answers 202 when the submission was accepted for grading.
+    @Transactional
+    public ResponseEntity<Integer> acceptSubmission(Long attemptId, List<Response> responses, String userEmail) {
+        return submitAttempt(attemptId, responses, userEmail, true);
+    }
+
+    private ResponseEntity<Integer> submitAttempt(Long attemptId, List<Response> responses, String userEmail, boolean deferGrading) {
         if (attemptId == null) { return new ResponseEntity<>(-1, HttpStatus.BAD_REQUEST); }
 
-        Optional<QuizAttempt> attemptOpt = quizAttemptDao.findById(attemptId);
+        Optional<QuizAttempt> attemptOpt = quizAttemptDao.findWithStudentById(attemptId); // Student fetched in the same query
         if (attemptOpt.isEmpty()) {
             logger.warn("Attempt to submit non-existent attempt ID {}", attemptId);
             return new ResponseEntity<>(-1, HttpStatus.NOT_FOUND);
@@ -375,6 +444,10 @@ public class QuizService {
 
         // Check if already submitted
         if (attempt.getSubmissionTime() != null) {
+            if (attempt.getScore() == null && attempt.getPendingResponses() != null) {
+                logger.info("Attempt {} already submitted by user {} and still awaiting grading.", attemptId, userEmail);
+                return new ResponseEntity<>(HttpStatus.ACCEPTED);
+            }
             logger.info("Attempt {} already submitted by user {}, returning existing score.", attemptId, userEmail);
             return new ResponseEntity<>(attempt.getScore() != null ? attempt.getScore() : 0, HttpStatus.OK); // Return 0 if score somehow null
         }
@@ -386,9 +459,11 @@ public class QuizService {
             // Attempt is corrupt, should ideally not happen
             return new ResponseEntity<>(-1, HttpStatus.INTERNAL_SERVER_ERROR);
         }
+        // Cached answer key also carries the duration, so the quiz proxy is only initialised on a cache miss
+        AnswerKey answerKey = answerKeyCache.getOrLoad(quiz);
         LocalDateTime submissionRequestTime = LocalDateTime.now();
         long minutesElapsed = ChronoUnit.MINUTES.between(attempt.getStartTime(), submissionRequestTime);
-        long allowedDuration = quiz.getDurationInMinutes();
+        long allowedDuration = answerKey.getDurationInMinutes();
         // Allow a small grace period (e.g., 1 minute) for network latency etc.
         long gracePeriodMinutes = 1;
 
@@ -396,55 +471,132 @@ public class QuizService {
             logger.warn("Attempt {} submitted late by user {}. Elapsed: {} mins, Allowed: {} mins.", attemptId, userEmail, minutesElapsed, allowedDuration);
             attempt.setScore(0); // Mark score as 0 for late submission
             attempt.setSubmissionTime(submissionRequestTime); // Record actual submission time
+            attempt.setSavedAnswers(null);
             try {
                 quizAttemptDao.save(attempt);
+                quizMetrics.recordSubmission(quiz.getId(), "late");
+                quizLeaderboard.recordScore(quiz.getId(), attemptId, student.getId(), 0, submissionRequestTime);
+                quizStatisticsService.recordScore(quiz.getId(), attemptId, 0);
+                quizLiveFeed.recordSubmission(quiz.getId(), attemptId, true, 0);
+                attemptAutosave.discard(attemptId);
                 // Return HTTP 408 Request Timeout to indicate lateness clearly
                 return new ResponseEntity<>(0, HttpStatus.REQUEST_TIMEOUT);
             } catch (Exception e) {
                 logger.error("Error saving late submission score for attempt {}: {}", attemptId, e.getMessage(), e);
+                TransactionHooks.rollbackOnly();
+                return new ResponseEntity<>(-1, HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        }
+
+        // --- Async mode: persist the responses, grade later in a batch ---
+        if (deferGrading) {
+            attempt.setSubmissionTime(submissionRequestTime);
+            attempt.setPendingResponses(responseCodec.encode(responses));
+            attempt.setSavedAnswers(null);
+            try {
+                quizAttemptDao.save(attempt);
+                TransactionHooks.afterCommit(() -> submissionPipeline.enqueue(attemptId));
+                quizMetrics.recordSubmission(quiz.getId(), "accepted");
+                quizLiveFeed.recordSubmission(quiz.getId(), attemptId, false, null); // Score follows from the pipeline
+                attemptAutosave.discard(attemptId);
+                logger.info("Attempt {} accepted for grading from user {}", attemptId, userEmail);
+                return new ResponseEntity<>(HttpStatus.ACCEPTED);
+            } catch (Exception e) {
+                logger.error("Error recording submission for attempt {}: {}", attemptId, e.getMessage(), e);
+                TransactionHooks.rollbackOnly();
                 return new ResponseEntity<>(-1, HttpStatus.INTERNAL_SERVER_ERROR);
             }
         }
 
         // --- Calculate Score ---
-        List<Question> questions = quiz.getQuestions(); // EAGER fetch should provide these
-        if (CollectionUtils.isEmpty(questions)) {
+        if (answerKey.size() == 0) {
             logger.warn("Quiz {} for attempt {} has no questions during calculation.", quiz.getId(), attemptId);
             attempt.setScore(0); // Score is 0 if no questions
         } else {
-            // Create map of correct answers for efficient lookup
-            Map<Integer, String> correctAnswers = new HashMap<>();
-            for(Question q : questions) {
-                correctAnswers.put(q.getId(), q.getRightAnswer());
-            }
-
-            int score = 0;
-            if (responses != null) {
-                for (Response res : responses) {
-                    if (res != null &&
-                            correctAnswers.containsKey(res.getId()) &&
-                            res.getResponse() != null && // Check user response string
-                            correctAnswers.get(res.getId()).equals(res.getResponse())) {
-                        score++;
-                    }
-                }
-            }
+            int score = answerKey.grade(responses);
             attempt.setScore(score);
-            logger.info("Calculated score for attempt {}: {} / {}", attemptId, score, questions.size());
+            logger.info("Calculated score for attempt {}: {} / {}", attemptId, score, answerKey.size());
         }
 
         // --- Save Result ---
         attempt.setSubmissionTime(submissionRequestTime); // Set submission time
+        attempt.setSavedAnswers(null); // The submission supersedes the autosaved draft
         try {
             quizAttemptDao.save(attempt);
+            attemptAnswerStore.save(attemptId, responses, answerKey); // One batched insert for all answers
+            quizMetrics.recordSubmission(quiz.getId(), "graded");
+            quizLeaderboard.recordScore(quiz.getId(), attemptId, student.getId(), attempt.getScore(), submissionRequestTime);
+            quizStatisticsService.recordScore(quiz.getId(), attemptId, attempt.getScore());
+            quizLiveFeed.recordSubmission(quiz.getId(), attemptId, false, attempt.getScore());
+            attemptAutosave.discard(attemptId);
             logger.info("Attempt {} submitted successfully by user {} with score {}", attemptId, userEmail, attempt.getScore());
             return new ResponseEntity<>(attempt.getScore(), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error saving final score for attempt {}: {}", attemptId, e.getMessage(), e);
+            TransactionHooks.rollbackOnly(); // The score must not commit without its answers
             return new ResponseEntity<>(-1, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    // Top submissions from the in-memory leaderboard (owner or Admin); no scan of quiz_attempts
+    @Transactional(readOnly = true)
+    public ResponseEntity<LeaderboardDto> getLeaderboard(Integer quizId, Integer limit, String userEmail) {
+        Optional<Quiz> quizOpt = quizDao.findById(quizId);
+        if (quizOpt.isEmpty()) { return new ResponseEntity<>(HttpStatus.NOT_FOUND); }
+
+        Optional<UserIdentity> userOpt = userIdentityCache.findByEmail(userEmail);
+        if (userOpt.isEmpty()) { return new ResponseEntity<>(HttpStatus.FORBIDDEN); }
+        UserIdentity user = userOpt.get();
+        boolean isAdmin = "Admin".equals(user.getRole());
+        boolean isOwner = quizOpt.get().getCreatedBy() != null && quizOpt.get().getCreatedBy().getId().equals(user.getId());
+        if (!isAdmin && !isOwner) {
+            logger.warn("Unauthorized attempt to view leaderboard of quiz {} by user {}", quizId, userEmail);
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+
+        int size = limit == null ? 10 : Math.max(1, Math.min(QuizLeaderboard.TOP_CAPACITY, limit));
+        try {
+            List<QuizLeaderboard.Entry> top = quizLeaderboard.top(quizId, size);
+            Map<Long, User> students = new HashMap<>();
+            userDao.findAllById(top.stream().map(QuizLeaderboard.Entry::studentId).toList())
+                    .forEach(u -> students.put(u.getId(), u)); // One query for the names on the page
+            List<LeaderboardDto.Entry> entries = new ArrayList<>(top.size());
+            int rank = 0;
+            for (int i = 0; i < top.size(); i++) {
+                QuizLeaderboard.Entry entry = top.get(i);
+                if (i == 0 || entry.score() != top.get(i - 1).score()) rank = i + 1; // Best-first, so ties share a rank
+                User student = students.get(entry.studentId());
+                entries.add(new LeaderboardDto.Entry(rank, student != null ? student.getName() : null,
+                        student != null ? student.getEmail() : null, entry.score(), entry.submissionTime()));
+            }
+            return new ResponseEntity<>(new LeaderboardDto(quizId, quizLeaderboard.totalSubmissions(quizId), entries), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error building leaderboard for quiz {}: {}", quizId, e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // The calling student's rank and percentile in a quiz they have submitted
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getMyRank(Integer quizId, String userEmail) {
+        Optional<UserIdentity> studentOpt = userIdentityCache.findByEmail(userEmail);
+        if (studentOpt.isEmpty()) { return new ResponseEntity<>("User not found.", HttpStatus.NOT_FOUND); }
+
+        List<Integer> scores = quizAttemptDao.findSubmittedScores(quizId, studentOpt.get().getId());
+        if (scores.isEmpty()) {
+            return new ResponseEntity<>("No graded submission for this quiz.", HttpStatus.NOT_FOUND);
+        }
+        int score = scores.get(0);
+        try {
+            QuizLeaderboard.Standing standing = quizLeaderboard.standingOf(quizId, score);
+            return new ResponseEntity<>(new QuizRankDto(quizId, score, standing.rank(), standing.total(),
+                    Math.round(standing.percentile() * 10) / 10.0), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error computing rank of {} in quiz {}: {}", userEmail, quizId, e.getMessage(), e);
+            return new ResponseEntity<>("Error computing rank.", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @Transactional(readOnly = true)
     public ResponseEntity<List<SubmissionResultDto>> getSubmissionsForQuiz(Integer quizId, String userEmail) {
         if (quizId == null) { return new ResponseEntity<>(HttpStatus.BAD_REQUEST); }
@@ -452,12 +604,12 @@ public class QuizService {
         Optional<Quiz> quizOpt = quizDao.findById(quizId);
         if (quizOpt.isEmpty()) { return new ResponseEntity<>(HttpStatus.NOT_FOUND); }
 
-        Optional<User> userOpt = userDao.findByEmail(userEmail);
+        Optional<UserIdentity> userOpt = userIdentityCache.findByEmail(userEmail);
         if (userOpt.isEmpty()) { return new ResponseEntity<>(HttpStatus.FORBIDDEN); }
-        User user = userOpt.get();
+        UserIdentity user = userOpt.get();
 
         boolean isAdmin = "Admin".equals(user.getRole());
-        boolean isOwner = quizOpt.get().getCreatedBy() != null && quizOpt.get().getCreatedBy().getEmail().equals(userEmail);
+        boolean isOwner = quizOpt.get().getCreatedBy() != null && quizOpt.get().getCreatedBy().getId().equals(user.getId());
 
         if (!isAdmin && !isOwner) {
             logger.warn("Unauthorized attempt to view submissions for quiz {} by user {}", quizId, userEmail);
@@ -465,21 +617,11 @@ public class QuizService {
         }
 
         try {
-            List<QuizAttempt> attempts = quizAttemptDao.findByQuizId(quizId);
-            logger.info("Fetched {} attempts for Quiz ID {}", attempts.size(), quizId);
-
-            // Filter attempts to include only submitted ones with valid related data
-            List<SubmissionResultDto> results = attempts.stream()
-                    .filter(a -> a.getSubmissionTime() != null && a.getStudent() != null && a.getQuiz() != null)
-                    .map(attempt -> new SubmissionResultDto(
-                            attempt.getStudent().getName(), // Requires Student to be loaded
-                            attempt.getScore(),
-                            attempt.getQuiz().getTotalMarks(), // Requires Quiz to be loaded
-                            attempt.getSubmissionTime()))
-                    .collect(Collectors.toList());
+            // Single projection query; unsubmitted attempts are filtered in SQL
+            List<SubmissionResultDto> results = quizAttemptDao.findSubmissionResultsByQuizId(quizId);
             logger.info("Returning {} submission results for Quiz ID {}", results.size(), quizId);
             return new ResponseEntity<>(results, HttpStatus.OK);
-        } catch (Exception e) { // Catch potential LazyInitializationExceptions if entities aren't loaded
+        } catch (Exception e) {
             logger.error("Error fetching or processing submissions for quiz {}: {}", quizId, e.getMessage(), e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -540,12 +682,12 @@ public class QuizService {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
 
-        Optional<User> studentOpt = userDao.findByEmail(userEmail);
+        Optional<UserIdentity> studentOpt = userIdentityCache.findByEmail(userEmail);
         if (studentOpt.isEmpty()) {
             logger.warn("getMyAttempts called for non-existent user: {}", userEmail);
             return new ResponseEntity<>("User not found.", HttpStatus.NOT_FOUND);
         }
-        User student = studentOpt.get();
+        UserIdentity student = studentOpt.get();
 
         // Ensure the user has the Student role (optional, but good practice)
         // if (!"Student".equals(student.getRole())) {
@@ -554,28 +696,8 @@ public class QuizService {
         // }
 
         try {
-            // Fetch all attempts for this student
-            List<QuizAttempt> attempts = quizAttemptDao.findByStudentIdOrderBySubmissionTimeDesc(student.getId()); // Order by most recent
-            logger.info("Fetched {} attempts for student {}", attempts.size(), userEmail);
-
-            // Map attempts to DTOs
-            List<QuizAttemptResultDto> results = attempts.stream()
-                    // Filter only submitted attempts (optional, might want to show incomplete ones too)
-                    .filter(attempt -> attempt.getSubmissionTime() != null && attempt.getQuiz() != null)
-                    .map(attempt -> {
-                        Quiz quiz = attempt.getQuiz(); // Access quiz within the transaction
-                        return new QuizAttemptResultDto(
-                                attempt.getId(),
-                                attempt.getScore(),
-                                attempt.getStartTime(),
-                                attempt.getSubmissionTime(),
-                                quiz.getTitle(),
-                                quiz.getSubject(),
-                                quiz.getDurationInMinutes(),
-                                quiz.getTotalMarks()
-                        );
-                    })
-                    .collect(Collectors.toList());
+            // Submitted attempts with their quiz details, projected straight into DTOs in one query
+            List<QuizAttemptResultDto> results = quizAttemptDao.findAttemptResultsByStudentId(student.getId());
 
             logger.info("Returning {} submitted attempt results for student {}", results.size(), userEmail);
             return new ResponseEntity<>(results, HttpStatus.OK);
@@ -585,8 +707,4 @@ public class QuizService {
             return new ResponseEntity<>("Error retrieving past attempts.", HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-
-    // Add this corresponding method to your QuizAttemptDao interface
-    // Inside QuizAttemptDao.java (interface):
-    // List<QuizAttempt> findByStudentIdOrderBySubmissionTimeDesc(Long studentId);
 }
\ No newline at end of file
@@ -0,0 +1,358 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.QuizStatistics;
+import com.pradata.app.model.QuizStatisticsDto;
+import com.pradata.app.model.UserIdentity;
+import com.pradata.app.repository.QuizStatisticsDao;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-quiz score statistics kept as in-memory aggregates and materialized in quiz_statistics.
+ * Each aggregate is an exact score histogram (scores are small integers), so count, mean, deviation,
+ * min/max and percentiles all come from it without touching quiz_attempts, and histograms merge by adding.
+ * Graded scores are added after commit by QuizService/SubmissionPipeline; dirty aggregates are written back
+ * in one JDBC batch per flush interval. A nightly job (or the admin endpoint) recomputes everything from
+ * quiz_attempts with one GROUP BY query, which also repairs increments lost in a crash before a flush; quizzes
+ * scored while that query runs are marked stale instead of being swapped in, and reload from quiz_attempts.
+ * Scores arriving before an aggregate is loaded are buffered (PendingChanges) by attempt ID, so a reload from
+ * quiz_attempts skips the ones it already read.
+ */
+@Service
+public class QuizStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizStatisticsService.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE quiz_statistics SET submission_count = ?, score_sum = ?, min_score = ?, max_score = ?, score_histogram = ?, updated_at = ? WHERE quiz_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO quiz_statistics (submission_count, score_sum, min_score, max_score, score_histogram, updated_at, quiz_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String GRADED_FILTER = "submission_time IS NOT NULL AND score IS NOT NULL";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private QuizStatisticsDao quizStatisticsDao;
+    @Autowired private UserIdentityCache userIdentityCache;
+
+    private final Map<Integer, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> stale = ConcurrentHashMap.newKeySet(); // Recompute from quiz_attempts on next load
+    // Score hooks share the read lock; rebuildAll takes the write lock only to start and to swap in its result
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final Set<Integer> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private int rebuildsRunning; // Guarded by rebuildLock; the nightly job and the admin endpoint may overlap
+    private TransactionTemplate flushTransaction;
+
+    @PostConstruct
+    public void init() {
+        flushTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Adds a graded submission once the surrounding transaction commits; the row is written by the next flush
+    public void recordScore(Integer quizId, long attemptId, int score) {
+        if (quizId == null) return;
+        TransactionHooks.afterCommit(() -> {
+            rebuildLock.readLock().lock();
+            try {
+                if (rebuildsRunning > 0) touchedDuringRebuild.add(quizId); // The GROUP BY may or may not include this score
+                Aggregate aggregate = aggregates.computeIfAbsent(quizId, id -> new Aggregate());
+                synchronized (aggregate) {
+                    aggregate.changes.apply(aggregate, attemptId, a -> a.add(Math.max(0, score), 1));
+                }
+                dirty.add(quizId);
+            } finally {
+                rebuildLock.readLock().unlock();
+            }
+        });
+    }
+
+    // Owner or Admin; served from the aggregate, no attempt scan
+    public ResponseEntity<QuizStatisticsDto> getStatistics(Integer quizId, String userEmail) {
+        List<Map<String, Object>> quizRows = jdbcTemplate.queryForList("SELECT created_by_user_id FROM quiz WHERE id = ?", quizId);
+        if (quizRows.isEmpty()) { return new ResponseEntity<>(HttpStatus.NOT_FOUND); }
+
+        Optional<UserIdentity> userOpt = StringUtils.hasText(userEmail) ? userIdentityCache.findByEmail(userEmail) : Optional.empty();
+        if (userOpt.isEmpty()) { return new ResponseEntity<>(HttpStatus.FORBIDDEN); }
+        UserIdentity user = userOpt.get();
+        Object creatorId = quizRows.get(0).get("created_by_user_id");
+        boolean isAdmin = "Admin".equals(user.getRole());
+        boolean isOwner = creatorId != null && ((Number) creatorId).longValue() == user.getId();
+        if (!isAdmin && !isOwner) {
+            logger.warn("Unauthorized attempt to view statistics of quiz {} by user {}", quizId, userEmail);
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+
+        try {
+            Aggregate aggregate = loadedAggregate(quizId);
+            synchronized (aggregate) {
+                return new ResponseEntity<>(aggregate.toDto(quizId), HttpStatus.OK);
+            }
+        } catch (Exception e) {
+            logger.error("Error reading statistics of quiz {}: {}", quizId, e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Deletes the stored row with the quiz (joins the caller's transaction) and drops the aggregate after commit
+    public void remove(Integer quizId) {
+        if (quizId == null) return;
+        jdbcTemplate.update("DELETE FROM quiz_statistics WHERE quiz_id = ?", quizId);
+        TransactionHooks.afterCommit(() -> {
+            aggregates.remove(quizId);
+            dirty.remove(quizId);
+            stale.remove(quizId);
+        });
+    }
+
+    // Call before a student's attempts are deleted: the quizzes they took are recomputed from quiz_attempts after commit
+    public void invalidateForStudent(Long studentId) {
+        final List<Integer> ids = jdbcTemplate.queryForList(
+                "SELECT DISTINCT quiz_id FROM quiz_attempts WHERE student_id = ? AND " + GRADED_FILTER, Integer.class, studentId);
+        if (ids.isEmpty()) return;
+        TransactionHooks.afterCommit(() -> {
+            for (Integer quizId : ids) {
+                stale.add(quizId);
+                aggregates.remove(quizId);
+                dirty.add(quizId); // Next flush reloads and rewrites the row
+            }
+        });
+    }
+
+    // Writes dirty aggregates back: one batched UPDATE, then one batched INSERT for quizzes without a row yet
+    @Scheduled(fixedDelayString = "${app.stats.flush-interval-ms:5000}")
+    public void flush() {
+        if (dirty.isEmpty()) return;
+        List<Integer> quizIds = new ArrayList<>(dirty);
+        quizIds.forEach(dirty::remove);
+        try {
+            List<Object[]> rows = new ArrayList<>(quizIds.size());
+            for (Integer quizId : quizIds) {
+                Aggregate aggregate = loadedAggregate(quizId);
+                synchronized (aggregate) {
+                    aggregate.updatedAt = LocalDateTime.now();
+                    rows.add(aggregate.toRow(quizId));
+                }
+            }
+            flushTransaction.executeWithoutResult(status -> writeRows(rows));
+            logger.debug("Flushed statistics of {} quizzes", rows.size());
+        } catch (Exception e) {
+            dirty.addAll(quizIds); // Retried on the next run
+            logger.error("Error flushing statistics of {} quizzes: {}", quizIds.size(), e.getMessage(), e);
+        }
+    }
+
+    // Nightly full recompute from quiz_attempts; also exposed to admins
+    @Scheduled(cron = "${app.stats.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuildAll();
+    }
+
+    public ResponseEntity<String> rebuildAll() {
+        long startNanos = System.nanoTime();
+        rebuildLock.writeLock().lock();
+        try {
+            if (rebuildsRunning++ == 0) touchedDuringRebuild.clear();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        try {
+            Map<Integer, Aggregate> rebuilt = new HashMap<>();
+            jdbcTemplate.query("SELECT quiz_id, score, COUNT(*) FROM quiz_attempts WHERE " + GRADED_FILTER + " GROUP BY quiz_id, score",
+                    rs -> {
+                        Aggregate aggregate = rebuilt.computeIfAbsent(rs.getInt(1), id -> new Aggregate());
+                        aggregate.add(Math.max(0, rs.getInt(2)), rs.getLong(3));
+                    });
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> rows = new ArrayList<>(rebuilt.size());
+            rebuilt.forEach((quizId, aggregate) -> {
+                aggregate.changes.install(aggregate, attemptId -> false); // Scores committed meanwhile make the quiz stale
+                aggregate.updatedAt = now;
+                rows.add(aggregate.toRow(quizId));
+            });
+            flushTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM quiz_statistics");
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            });
+            rebuildLock.writeLock().lock();
+            try {
+                aggregates.clear(); // Quizzes without graded submissions load as empty
+                aggregates.putAll(rebuilt);
+                stale.clear();
+                for (Integer quizId : touchedDuringRebuild) {
+                    aggregates.remove(quizId);
+                    stale.add(quizId);
+                    dirty.add(quizId); // Next flush reloads and rewrites the row
+                }
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+            long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+            logger.info("Rebuilt statistics of {} quizzes in {} ms", rows.size(), elapsedMs);
+            return new ResponseEntity<>("Rebuilt statistics of " + rows.size() + " quizzes in " + elapsedMs + " ms", HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error rebuilding quiz statistics: {}", e.getMessage(), e);
+            return new ResponseEntity<>("Failed to rebuild statistics: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        } finally {
+            rebuildLock.writeLock().lock();
+            try {
+                if (--rebuildsRunning == 0) touchedDuringRebuild.clear();
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+        }
+    }
+
+    // The aggregate with its stored base merged in: the materialized row, or quiz_attempts if there is none (or it is stale).
+    // The reads run under the aggregate's load lock, not its monitor, so scores keep arriving while they run.
+    private Aggregate loadedAggregate(Integer quizId) {
+        Aggregate aggregate = aggregates.computeIfAbsent(quizId, id -> new Aggregate());
+        if (aggregate.changes.isInstalled()) return aggregate;
+        aggregate.loadLock.lock();
+        boolean recompute = false;
+        try {
+            if (aggregate.changes.isInstalled()) return aggregate;
+            recompute = stale.remove(quizId);
+            Optional<QuizStatistics> row = recompute ? Optional.empty() : quizStatisticsDao.findById(quizId);
+            if (row.isPresent()) {
+                long[] stored = parseHistogram(row.get().getScoreHistogram());
+                synchronized (aggregate) {
+                    aggregate.merge(stored);
+                    aggregate.updatedAt = row.get().getUpdatedAt();
+                    aggregate.changes.install(aggregate, attemptId -> false); // The row only holds flushed scores
+                }
+            } else {
+                // Per attempt rather than GROUP BY score, so scores buffered meanwhile that the read saw are not added twice
+                Aggregate read = new Aggregate();
+                PendingChanges.ReadIds seen = new PendingChanges.ReadIds();
+                jdbcTemplate.query("SELECT id, score FROM quiz_attempts WHERE quiz_id = ? AND " + GRADED_FILTER,
+                        rs -> {
+                            read.add(Math.max(0, rs.getInt(2)), 1);
+                            seen.add(rs.getLong(1));
+                        },
+                        quizId);
+                seen.sort();
+                synchronized (aggregate) {
+                    aggregate.merge(read.counts);
+                    aggregate.changes.install(aggregate, seen::contains);
+                }
+                dirty.add(quizId);
+            }
+            return aggregate;
+        } catch (RuntimeException e) {
+            if (recompute) stale.add(quizId);
+            throw e;
+        } finally {
+            aggregate.loadLock.unlock();
+        }
+    }
+
+    private void writeRows(List<Object[]> rows) {
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) inserts.add(rows.get(i));
+        }
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+    }
+
+    private static long[] parseHistogram(String histogram) {
+        if (!StringUtils.hasText(histogram)) return new long[0];
+        String[] parts = histogram.split(",");
+        long[] counts = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) counts[i] = Long.parseLong(parts[i].trim());
+        return counts;
+    }
+
+    // Exact score histogram; guarded by its own monitor, loaded once under loadLock. Scores arrive through changes.
+    private static final class Aggregate {
+        private long[] counts = new long[16];
+        private long count;
+        private long sum;
+        private final PendingChanges<Aggregate, Long> changes = new PendingChanges<>();
+        private LocalDateTime updatedAt;
+        private final ReentrantLock loadLock = new ReentrantLock();
+
+        void add(int score, long n) {
+            if (score >= counts.length) counts = Arrays.copyOf(counts, Math.max(counts.length * 2, score + 1));
+            counts[score] += n;
+            count += n;
+            sum += score * n;
+        }
+
+        void merge(long[] other) {
+            for (int score = 0; score < other.length; score++) {
+                if (other[score] != 0) add(score, other[score]);
+            }
+        }
+
+        Integer min() {
+            for (int score = 0; score < counts.length; score++) if (counts[score] > 0) return score;
+            return null;
+        }
+
+        Integer max() {
+            for (int score = counts.length - 1; score >= 0; score--) if (counts[score] > 0) return score;
+            return null;
+        }
+
+        // Nearest-rank percentile: the smallest score with at least p% of submissions at or below it
+        Integer percentile(double p) {
+            if (count == 0) return null;
+            long rank = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+            long seen = 0;
+            for (int score = 0; score < counts.length; score++) {
+                seen += counts[score];
+                if (seen >= rank) return score;
+            }
+            return max();
+        }
+
+        Object[] toRow(Integer quizId) {
+            int last = max() != null ? max() : -1;
+            StringBuilder histogram = new StringBuilder();
+            for (int score = 0; score <= last; score++) {
+                if (score > 0) histogram.append(',');
+                histogram.append(counts[score]);
+            }
+            return new Object[] { count, sum, min(), max(), histogram.toString(),
+                    updatedAt != null ? Timestamp.valueOf(updatedAt) : null, quizId };
+        }
+
+        QuizStatisticsDto toDto(Integer quizId) {
+            List<QuizStatisticsDto.ScoreBucket> buckets = new ArrayList<>();
+            double squares = 0;
+            for (int score = 0; score < counts.length; score++) {
+                if (counts[score] == 0) continue;
+                buckets.add(new QuizStatisticsDto.ScoreBucket(score, counts[score]));
+                squares += (double) score * score * counts[score];
+            }
+            Double mean = count > 0 ? (double) sum / count : null;
+            Double deviation = count > 0 ? Math.sqrt(Math.max(0, squares / count - mean * mean)) : null;
+            return new QuizStatisticsDto(quizId, count, mean, deviation, min(), max(),
+                    percentile(50), percentile(25), percentile(75), percentile(90), buckets, updatedAt);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.pradata.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradata.app.model.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+// Encodes submitted/saved answers into a compact JSON column value and back
+@Component
+public class ResponseCodec {
+
+    private static final TypeReference<List<Response>> RESPONSE_LIST = new TypeReference<>() {};
+
+    @Autowired private ObjectMapper objectMapper;
+
+    public String encode(List<Response> responses) {
+        try {
+            return objectMapper.writeValueAsString(responses != null ? responses : Collections.emptyList());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not encode responses", e);
+        }
+    }
+
+    public List<Response> decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) return Collections.emptyList();
+        try {
+            return objectMapper.readValue(encoded, RESPONSE_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not decode stored responses", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.pradata.app.service;
+
+import com.pradata.app.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of QuizService.startQuiz for the exam-start thundering herd.
+ * Each quiz gets a fair semaphore limiting how many starts run at once; callers queue in arrival order
+ * for at most the wait budget and are otherwise rejected with 503 + a jittered Retry-After
+ * instead of piling up on the connection pool.
+ * Gates exist only for quizzes the schedule index reports as live (anything else is turned away by startQuiz
+ * without a thundering herd), and a periodic sweep drops idle gates of quizzes that closed or were deleted,
+ * so arbitrary quiz IDs in the path cannot grow the map.
+ */
+@Component
+public class StartQuizAdmissionGate {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartQuizAdmissionGate.class);
+
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private QuizScheduleIndex quizScheduleIndex;
+
+    @Value("${app.admission.start.max-concurrent:16}")
+    private int maxConcurrent;
+
+    @Value("${app.admission.start.max-queue:500}")
+    private int maxQueue;
+
+    @Value("${app.admission.start.wait-ms:3000}")
+    private long waitMillis;
+
+    @Value("${app.admission.start.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+
+    private final Map<Integer, Semaphore> gates = new ConcurrentHashMap<>();
+    private Timer admittedWait;
+    private Timer rejectedWait;
+    private Counter rejected;
+
+    @PostConstruct
+    public void registerMeters() {
+        admittedWait = Timer.builder("quiz.start.admission.wait").tag("outcome", "admitted")
+                .publishPercentileHistogram().register(meterRegistry);
+        rejectedWait = Timer.builder("quiz.start.admission.wait").tag("outcome", "rejected")
+                .register(meterRegistry);
+        rejected = Counter.builder("quiz.start.admission.rejected").register(meterRegistry);
+        Gauge.builder("quiz.start.admission.queue.depth", this, StartQuizAdmissionGate::queueDepth)
+                .description("Requests waiting for a start slot across all quizzes")
+                .register(meterRegistry);
+        Gauge.builder("quiz.start.admission.in.flight", this, StartQuizAdmissionGate::inFlight)
+                .register(meterRegistry);
+    }
+
+    // Runs the action once a slot for the quiz is free, or throws AdmissionRejectedException when the budget runs out
+    public <T> T admit(int quizId, Supplier<T> action) {
+        if (quizScheduleIndex.phaseOf(quizId, LocalDateTime.now()) != QuizScheduleIndex.Phase.LIVE) {
+            return action.get(); // Unknown, upcoming or closed: startQuiz rejects it from the schedule index
+        }
+        Semaphore gate = gates.computeIfAbsent(quizId, id -> new Semaphore(maxConcurrent, true));
+        long startNanos = System.nanoTime();
+        boolean acquired = false;
+        try {
+            if (gate.getQueueLength() < maxQueue) {
+                acquired = gate.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long waitedNanos = System.nanoTime() - startNanos;
+        if (!acquired) {
+            rejectedWait.record(waitedNanos, TimeUnit.NANOSECONDS);
+            rejected.increment();
+            long retryAfter = retryAfterSeconds + ThreadLocalRandom.current().nextInt(retryAfterSeconds + 1);
+            logger.warn("Start of quiz {} rejected after {} ms (queue {}), retry after {}s",
+                    quizId, TimeUnit.NANOSECONDS.toMillis(waitedNanos), gate.getQueueLength(), retryAfter);
+            throw new AdmissionRejectedException("Too many students are starting this quiz right now. Please retry shortly.", retryAfter);
+        }
+        admittedWait.record(waitedNanos, TimeUnit.NANOSECONDS);
+        try {
+            return action.get();
+        } finally {
+            gate.release();
+        }
+    }
+
+    // Drops idle gates of quizzes that are no longer live (closed, unpublished or deleted)
+    @Scheduled(fixedDelayString = "${app.admission.start.evict-interval-ms:60000}")
+    public void evictClosedGates() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Integer quizId : gates.keySet()) {
+            if (quizScheduleIndex.phaseOf(quizId, now) == QuizScheduleIndex.Phase.LIVE) continue;
+            gates.computeIfPresent(quizId, (id, gate) ->
+                    gate.availablePermits() == maxConcurrent && !gate.hasQueuedThreads() ? null : gate);
+        }
+    }
+
+    int gateCount() {
+        return gates.size();
+    }
+
+    private double queueDepth() {
+        return gates.values().stream().mapToInt(Semaphore::getQueueLength).sum();
+    }
+
+    private double inFlight() {
+        return gates.values().stream().mapToInt(g -> maxConcurrent - g.availablePermits()).sum();
+    }
+}
@@ -0,0 +1,230 @@
+package com.pradata.app.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.pradata.app.model.UserIdentity;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Streaming export of a quiz's submissions (CSV or NDJSON) for the registrar.
+ * Rows are read with plain JDBC through a forward-only cursor (fetch size, read-only transaction) and written
+ * straight to the response stream, so memory stays constant and no entities are loaded whatever the quiz size.
+ */
+@Service
+public class SubmissionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionExportService.class);
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final String[] COLUMNS = {
+            "attemptId", "studentId", "studentName", "studentEmail", "score", "totalMarks", "startTime", "submissionTime", "status" };
+
+    private static final String EXPORT_SQL =
+            "SELECT a.id, u.id, u.name, u.email, a.score, a.start_time, a.submission_time " +
+            "FROM quiz_attempts a JOIN users u ON u.id = a.student_id " +
+            "WHERE a.quiz_id = ? AND a.submission_time IS NOT NULL " +
+            "ORDER BY a.submission_time, a.id";
+
+    @Autowired private DataSource dataSource;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private UserIdentityCache userIdentityCache;
+
+    @Value("${app.export.fetch-size:500}")
+    private int fetchSize;
+
+    private JdbcTemplate cursorJdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @PostConstruct
+    public void init() {
+        // PostgreSQL only streams with a fetch size inside a transaction (autocommit off); otherwise it buffers the whole result
+        cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        cursorJdbcTemplate.setFetchSize(fetchSize);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Owner or Admin only; format is csv (default) or ndjson
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(Integer quizId, String format, String userEmail) {
+        if (quizId == null) { return new ResponseEntity<>(HttpStatus.BAD_REQUEST); }
+        final boolean ndjson;
+        if (!StringUtils.hasText(format) || "csv".equalsIgnoreCase(format)) {
+            ndjson = false;
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            ndjson = true;
+        } else {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        List<Map<String, Object>> quizRows = jdbcTemplate.queryForList(
+                "SELECT created_by_user_id, total_marks FROM quiz WHERE id = ?", quizId);
+        if (quizRows.isEmpty()) { return new ResponseEntity<>(HttpStatus.NOT_FOUND); }
+        Map<String, Object> quizRow = quizRows.get(0);
+
+        Optional<UserIdentity> userOpt = userIdentityCache.findByEmail(userEmail);
+        if (userOpt.isEmpty()) { return new ResponseEntity<>(HttpStatus.FORBIDDEN); }
+        UserIdentity user = userOpt.get();
+        Object creatorId = quizRow.get("created_by_user_id");
+        boolean isAdmin = "Admin".equals(user.getRole());
+        boolean isOwner = creatorId != null && ((Number) creatorId).longValue() == user.getId();
+        if (!isAdmin && !isOwner) {
+            logger.warn("Unauthorized attempt to export submissions for quiz {} by user {}", quizId, userEmail);
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+
+        Number totalMarksValue = (Number) quizRow.get("total_marks");
+        Integer totalMarks = totalMarksValue != null ? totalMarksValue.intValue() : null;
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 16 * 1024);
+            RowWriter rowWriter = ndjson ? new NdjsonRowWriter(writer) : new CsvRowWriter(writer);
+            long startNanos = System.nanoTime();
+            int[] rowCount = { 0 };
+            try {
+                rowWriter.start();
+                readOnlyTransaction.executeWithoutResult(status ->
+                        cursorJdbcTemplate.query(EXPORT_SQL, rs -> {
+                            writeRow(rowWriter, rs, totalMarks);
+                            rowCount[0]++;
+                        }, quizId));
+                writer.flush();
+            } catch (UncheckedIOException e) {
+                // Client went away mid-download; the cursor and transaction are already closed
+                logger.warn("Submission export for quiz {} aborted after {} rows: {}", quizId, rowCount[0], e.getMessage());
+                throw e.getCause();
+            }
+            logger.info("Exported {} submissions of quiz {} as {} in {} ms", rowCount[0], quizId,
+                    ndjson ? "NDJSON" : "CSV", (System.nanoTime() - startNanos) / 1_000_000);
+        };
+
+        String fileName = "quiz-" + quizId + "-submissions." + (ndjson ? "ndjson" : "csv");
+        return ResponseEntity.ok()
+                .contentType(ndjson ? APPLICATION_NDJSON : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    private static void writeRow(RowWriter rowWriter, ResultSet rs, Integer totalMarks) throws SQLException {
+        Integer score = rs.getObject(5) != null ? rs.getInt(5) : null;
+        Timestamp start = rs.getTimestamp(6);
+        Timestamp submitted = rs.getTimestamp(7);
+        try {
+            rowWriter.row(
+                    rs.getLong(1),
+                    rs.getLong(2),
+                    rs.getString(3),
+                    rs.getString(4),
+                    score,
+                    totalMarks,
+                    start != null ? start.toLocalDateTime().toString() : null,
+                    submitted != null ? submitted.toLocalDateTime().toString() : null,
+                    score != null ? "GRADED" : "PENDING");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Aborts the query; RowCallbackHandler cannot throw IOException
+        }
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void row(Object... values) throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            row((Object[]) COLUMNS);
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) writer.write(',');
+                if (values[i] instanceof String text) writer.write(escape(text));
+                else if (values[i] != null) writer.write(values[i].toString());
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180 quoting, plus a leading quote on text a spreadsheet would treat as a formula
+        private static String escape(String value) {
+            if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = jsonFactory.createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM); // flush() must not reach the socket
+            this.generator.setRootValueSeparator(null); // Lines are separated by '\n' below, not the default space
+        }
+
+        @Override
+        public void start() {
+            // No header line: every line is a self-describing object
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) generator.writeNullField(COLUMNS[i]);
+                else if (value instanceof Long l) generator.writeNumberField(COLUMNS[i], l);
+                else if (value instanceof Integer n) generator.writeNumberField(COLUMNS[i], n);
+                else generator.writeStringField(COLUMNS[i], value.toString());
+            }
+            generator.writeEndObject();
+            generator.flush(); // Into the buffered writer only
+            writer.write('\n');
+        }
+    }
+}
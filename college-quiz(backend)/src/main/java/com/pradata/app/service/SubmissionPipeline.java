@@ -0,0 +1,320 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Quiz;
+import com.pradata.app.model.QuizAttempt;
+import com.pradata.app.model.Response;
+import com.pradata.app.repository.QuizAttemptDao;
+import com.pradata.app.repository.QuizDao;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opt-in asynchronous grading (app.submission.mode=async).
+ * QuizService.acceptSubmission durably records the responses on the attempt (pending_responses) and hands the
+ * attempt ID to this pipeline after commit. A bounded pool of workers drains the queue in batches, grades against
+ * the cached AnswerKey and writes scores back with one batched JDBC UPDATE per batch.
+ * Pending attempts left in the DB (restart, full queue, lost connection) are picked up again by a periodic sweep.
+ * An attempt that cannot be graded (undecodable responses, an answer its row cannot store) is scored 0 with
+ * grading_error set, so it leaves the pending set instead of being retried forever.
+ */
+@Component
+public class SubmissionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionPipeline.class);
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private QuizDao quizDao;
+    @Autowired private QuizAttemptDao quizAttemptDao;
+    @Autowired private AnswerKeyCache answerKeyCache;
+    @Autowired private ResponseCodec responseCodec;
+    @Autowired private AttemptAnswerStore attemptAnswerStore;
+    @Autowired private QuizLeaderboard quizLeaderboard;
+    @Autowired private QuizStatisticsService quizStatisticsService;
+    @Autowired private QuizLiveFeed quizLiveFeed;
+
+    @Value("${app.submission.mode:sync}")
+    private String mode;
+
+    @Value("${app.submission.workers:4}")
+    private int workerCount;
+
+    @Value("${app.submission.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.submission.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.submission.await-ms:500}")
+    private long awaitMillis;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private BlockingQueue<Long> queue;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final Map<Long, CompletableFuture<Integer>> waiting = new ConcurrentHashMap<>();
+    private ExecutorService workers;
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) return;
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            String name = "submission-grader-" + threadNumber.incrementAndGet();
+            if (virtualThreads) return Thread.ofVirtual().name(name).unstarted(runnable);
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::drainLoop);
+        }
+        logger.info("Async submission pipeline started with {} workers, batch size {}", workerCount, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (workers != null) workers.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return "async".equalsIgnoreCase(mode);
+    }
+
+    // Called after the accepting transaction commits; if the queue is full the periodic sweep picks it up later
+    public void enqueue(Long attemptId) {
+        if (!running || !queued.add(attemptId)) return;
+        waiting.computeIfAbsent(attemptId, id -> new CompletableFuture<>());
+        if (!queue.offer(attemptId)) {
+            queued.remove(attemptId);
+            logger.warn("Grading queue full, attempt {} left for the recovery sweep", attemptId);
+        }
+    }
+
+    // Waits briefly for the score; 200 with the score if graded in time, otherwise 202 pointing at the result endpoint.
+    // Holds no pool connection while waiting (OpenInViewConfig leaves the async submit path out of open-in-view).
+    public ResponseEntity<Integer> awaitResult(Long attemptId) {
+        CompletableFuture<Integer> future = waiting.get(attemptId);
+        try {
+            Integer score = future != null
+                    ? future.get(awaitMillis, TimeUnit.MILLISECONDS)
+                    : quizAttemptDao.findById(attemptId).map(QuizAttempt::getScore).orElse(null);
+            if (score != null) return new ResponseEntity<>(score, HttpStatus.OK);
+        } catch (TimeoutException e) {
+            logger.debug("Attempt {} not graded within {} ms, answering 202", attemptId, awaitMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Error waiting for grading of attempt {}: {}", attemptId, e.getMessage(), e);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/student/attempts/" + attemptId))
+                .build();
+    }
+
+    // Re-enqueues submissions that were recorded but never graded
+    @Scheduled(fixedDelayString = "${app.submission.recovery-interval-ms:30000}")
+    public void recoverPending() {
+        if (!running) return;
+        List<Long> pending = jdbcTemplate.queryForList(
+                "SELECT id FROM quiz_attempts WHERE submission_time IS NOT NULL AND score IS NULL AND pending_responses IS NOT NULL",
+                Long.class);
+        if (!pending.isEmpty()) {
+            logger.info("Recovery sweep found {} pending submissions", pending.size());
+            pending.forEach(this::enqueue);
+        }
+    }
+
+    private void drainLoop() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.clear();
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                Map<Long, Integer> scores = gradeBatch(batch);
+                completeWaiters(batch, scores);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Attempts stay pending in the DB and are retried by the recovery sweep
+                logger.error("Error grading batch of {} submissions: {}", batch.size(), e.getMessage(), e);
+                completeWaiters(batch, Map.of());
+            } finally {
+                batch.forEach(queued::remove);
+            }
+        }
+    }
+
+    private Map<Long, Integer> gradeBatch(List<Long> attemptIds) {
+        List<GradedAttempt> graded = transactionTemplate.execute(status -> readAndGrade(attemptIds)); // Answer-key misses load the quiz lazily
+        Map<Long, Integer> scores = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> scores.putAll(writeScores(graded)));
+        } catch (RuntimeException e) {
+            // One bad row (e.g. an answer too long for its column) must not hold back the rest of the batch
+            logger.warn("Batch write of {} graded submissions failed ({}), retrying one at a time", graded.size(), e.getMessage());
+            scores.clear();
+            for (GradedAttempt attempt : graded) {
+                scores.putAll(writeAlone(attempt));
+            }
+        }
+        logger.info("Graded batch of {} submissions", scores.size());
+        return scores;
+    }
+
+    // Decodes and grades each pending row on its own; a row that cannot be graded comes back as failed
+    private List<GradedAttempt> readAndGrade(List<Long> attemptIds) {
+        String placeholders = String.join(",", Collections.nCopies(attemptIds.size(), "?"));
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT id, quiz_id, pending_responses, student_id, submission_time FROM quiz_attempts WHERE score IS NULL AND pending_responses IS NOT NULL AND id IN (" + placeholders + ")",
+                (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getInt(2), rs.getString(3), rs.getLong(4), rs.getTimestamp(5) },
+                attemptIds.toArray());
+
+        List<GradedAttempt> graded = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long attemptId = (Long) row[0];
+            Integer quizId = (Integer) row[1];
+            Timestamp submitted = (Timestamp) row[4];
+            LocalDateTime submissionTime = submitted != null ? submitted.toLocalDateTime() : null;
+            try {
+                Quiz quizRef = quizDao.getReferenceById(quizId); // Only initialised on an answer-key miss
+                List<Response> responses = responseCodec.decode((String) row[2]);
+                AnswerKey answerKey = answerKeyCache.getOrLoad(quizRef);
+                graded.add(new GradedAttempt(attemptId, quizId, (Long) row[3], submissionTime,
+                        responses, answerKey, answerKey.grade(responses), null));
+            } catch (RuntimeException e) {
+                logger.error("Could not grade attempt {} of quiz {}: {}", attemptId, quizId, e.getMessage(), e);
+                graded.add(new GradedAttempt(attemptId, quizId, (Long) row[3], submissionTime,
+                        null, null, 0, "Could not grade submission: " + e.getMessage()));
+            }
+        }
+        return graded;
+    }
+
+    // Retry of a single attempt after its batch failed. A permanent failure (constraint, value too long) marks it as
+    // failed; anything else (connection lost, timeout) propagates and leaves it pending for the recovery sweep
+    private Map<Long, Integer> writeAlone(GradedAttempt attempt) {
+        try {
+            return transactionTemplate.execute(status -> writeScores(List.of(attempt)));
+        } catch (NonTransientDataAccessException e) {
+            if (attempt.failed()) throw e;
+            logger.error("Could not store graded attempt {}: {}", attempt.attemptId(), e.getMessage(), e);
+            GradedAttempt failed = attempt.asFailed("Could not store graded answers: " + e.getMessage());
+            return transactionTemplate.execute(status -> writeScores(List.of(failed)));
+        }
+    }
+
+    // Guarded score UPDATEs plus side effects for the rows they applied to; runs inside the caller's transaction
+    private Map<Long, Integer> writeScores(List<GradedAttempt> attempts) {
+        List<GradedAttempt> scored = new ArrayList<>(attempts.size());
+        List<GradedAttempt> failed = new ArrayList<>();
+        for (GradedAttempt attempt : attempts) {
+            (attempt.failed() ? failed : scored).add(attempt);
+        }
+        int[] scoredUpdates = jdbcTemplate.batchUpdate(
+                "UPDATE quiz_attempts SET score = ?, pending_responses = NULL, grading_error = NULL WHERE id = ? AND score IS NULL",
+                scored.stream().map(a -> new Object[] { a.score(), a.attemptId() }).toList());
+        // Failed rows leave the pending set with score 0; their responses stay for a manual regrade
+        int[] failedUpdates = failed.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(
+                "UPDATE quiz_attempts SET score = 0, grading_error = ? WHERE id = ? AND score IS NULL",
+                failed.stream().map(a -> new Object[] { truncate(a.error()), a.attemptId() }).toList());
+
+        Map<Long, Integer> scores = new HashMap<>();
+        Map<Long, List<Response>> responsesByAttempt = new HashMap<>();
+        Map<Long, AnswerKey> keysByAttempt = new HashMap<>();
+        applied(scored, scoredUpdates).forEach(attempt -> {
+            recordScore(attempt, scores);
+            responsesByAttempt.put(attempt.attemptId(), attempt.responses());
+            keysByAttempt.put(attempt.attemptId(), attempt.answerKey());
+        });
+        applied(failed, failedUpdates).forEach(attempt -> recordScore(attempt, scores)); // Counted like a late submission (0)
+        attemptAnswerStore.saveAll(responsesByAttempt, keysByAttempt); // Answers of the scored attempts in one JDBC batch
+        return scores;
+    }
+
+    // Side effects only for rows the UPDATE actually scored; 0 means another grader got there first
+    private static List<GradedAttempt> applied(List<GradedAttempt> attempts, int[] updated) {
+        List<GradedAttempt> applied = new ArrayList<>(attempts.size());
+        for (int i = 0; i < attempts.size(); i++) {
+            if (updated[i] == 1) {
+                applied.add(attempts.get(i));
+            } else {
+                logger.info("Attempt {} was already graded elsewhere, skipping", attempts.get(i).attemptId());
+            }
+        }
+        return applied;
+    }
+
+    private void recordScore(GradedAttempt attempt, Map<Long, Integer> scores) {
+        scores.put(attempt.attemptId(), attempt.score());
+        // Applied after the writing transaction commits
+        quizLeaderboard.recordScore(attempt.quizId(), attempt.attemptId(), attempt.studentId(), attempt.score(), attempt.submissionTime());
+        quizStatisticsService.recordScore(attempt.quizId(), attempt.attemptId(), attempt.score());
+        quizLiveFeed.recordScore(attempt.quizId(), attempt.attemptId(), attempt.score());
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= 255 ? error : error.substring(0, 255);
+    }
+
+    // A null score sends the waiting request down the 202 path
+    private void completeWaiters(List<Long> attemptIds, Map<Long, Integer> scores) {
+        for (Long attemptId : attemptIds) {
+            CompletableFuture<Integer> future = waiting.remove(attemptId);
+            if (future != null) future.complete(scores.get(attemptId));
+        }
+    }
+
+    // One pending attempt after grading; error is set (and score 0) when it could not be graded
+    private record GradedAttempt(Long attemptId, Integer quizId, Long studentId, LocalDateTime submissionTime,
+                                 List<Response> responses, AnswerKey answerKey, int score, String error) {
+
+        boolean failed() {
+            return error != null;
+        }
+
+        GradedAttempt asFailed(String reason) {
+            return new GradedAttempt(attemptId, quizId, studentId, submissionTime, null, null, 0, reason);
+        }
+    }
+}
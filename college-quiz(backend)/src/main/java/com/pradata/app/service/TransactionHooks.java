@@ -0,0 +1,34 @@
+package com.pradata.app.service;
+
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Small helper so in-memory caches/indexes only change once the DB change is really committed
+final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    // Runs the action after the current transaction commits, or right away if there is no transaction
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // For a @Transactional method that turns a failure into an error response instead of throwing:
+    // nothing it wrote so far may commit (no-op without a transaction)
+    static void rollbackOnly() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.UserIdentity;
+import com.pradata.app.repository.UserDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, TTL-based cache of email -> (id, name, role), shared by the services so that resolving the
+ * JWT subject does not cost a UserDao.findByEmail round trip on every request.
+ * Role changes and deletes invalidate the entry after commit; misses are never cached. When full, the entries
+ * that expire first (the oldest, as the TTL is fixed) make room, so a burst of new users never flushes the rest.
+ */
+@Component
+public class UserIdentityCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserIdentityCache.class);
+
+    @Autowired private UserDao userDao;
+
+    @Value("${app.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.user-cache.max-size:50000}")
+    private int maxSize;
+
+    // Reads are lock-free; inserts and removals keep expiryOrder in step under writeLock
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final TreeSet<Expiry> expiryOrder = new TreeSet<>(
+            Comparator.comparingLong(Expiry::expiresAt).thenComparing(Expiry::email));
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public Optional<UserIdentity> findByEmail(String email) {
+        if (email == null) return Optional.empty();
+        long now = System.nanoTime();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt - now > 0) {
+            return Optional.of(entry.identity);
+        }
+        Optional<UserIdentity> loaded = userDao.findByEmail(email).map(UserIdentity::of);
+        loaded.ifPresent(identity -> put(email, identity, now));
+        return loaded;
+    }
+
+    // Drops the entry now and again after commit, so a concurrent reload can't keep pre-change data
+    public void invalidate(String email) {
+        if (email == null) return;
+        remove(email);
+        TransactionHooks.afterCommit(() -> remove(email));
+        logger.debug("Invalidated cached identity for {}", email);
+    }
+
+    private void put(String email, UserIdentity identity, long now) {
+        Entry entry = new Entry(identity, now + ttlSeconds * 1_000_000_000L);
+        writeLock.lock();
+        try {
+            Entry replaced = entries.put(email, entry);
+            if (replaced != null) expiryOrder.remove(new Expiry(replaced.expiresAt, email));
+            expiryOrder.add(new Expiry(entry.expiresAt, email));
+            while (entries.size() > maxSize) {
+                entries.remove(expiryOrder.pollFirst().email());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void remove(String email) {
+        writeLock.lock();
+        try {
+            Entry removed = entries.remove(email);
+            if (removed != null) expiryOrder.remove(new Expiry(removed.expiresAt, email));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private record Entry(UserIdentity identity, long expiresAt) {
+    }
+
+    // nanoTime values: compared directly, as they all come from the same JVM run
+    private record Expiry(long expiresAt, String email) {
+    }
+}
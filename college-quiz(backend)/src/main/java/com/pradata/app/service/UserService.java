@@ -4,6 +4,7 @@ import com.pradata.app.config.JwtUtil;
 import com.pradata.app.exception.UserNotFoundException;
 import com.pradata.app.model.User;
 import com.pradata.app.model.UserDto;
+import com.pradata.app.model.UserIdentity;
 import com.pradata.app.repository.UserDao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +26,7 @@ public class UserService {
 
     @Autowired private UserDao userDao;
     @Autowired private JwtUtil jwtUtil;
+    @Autowired private UserIdentityCache userIdentityCache;
 
     @Value("${app.faculty.invitation-code:FACULTY2025}") // Use @Value with default
     private String facultyInvitationCode;
@@ -59,6 +61,7 @@ public class UserService {
             user.setRole("Faculty");
             try {
                 userDao.save(user);
+                userIdentityCache.invalidate(email);
                 logger.info("User {} promoted to Faculty.", email);
                 return true;
             } catch (Exception e) {
@@ -79,7 +82,7 @@ public class UserService {
             throw new IllegalArgumentException("Email cannot be blank");
         }
         logger.debug("Fetching user details for email: {}", email);
-        User user = userDao.findByEmail(email)
+        UserIdentity user = userIdentityCache.findByEmail(email)
                 .orElseThrow(() -> {
                     logger.warn("User not found with email: {}", email);
                     // Consider mapping this exception to a 404 response using @ControllerAdvice
@@ -112,7 +115,7 @@ public class UserService {
         return user.getRole();
     }
 
-    private UserDto mapToUserDto(User user) {
+    private UserDto mapToUserDto(UserIdentity user) {
         UserDto dto = new UserDto();
         if (user != null) {
             dto.setId(user.getId());
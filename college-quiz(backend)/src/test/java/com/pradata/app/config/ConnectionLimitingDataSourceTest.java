@@ -0,0 +1,66 @@
+package com.pradata.app.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock private DataSource pool;
+    @Mock private Connection pooled;
+
+    @Test
+    void closingTwiceReturnsThePermitOnce() throws Exception {
+        when(pool.getConnection()).thenReturn(pooled);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 2, 20);
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        verify(pooled, times(2)).close(); // Passed through; the pool ignores the second close
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void failedCheckoutGivesThePermitBack() throws Exception {
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted")).thenReturn(pooled);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 1, 20);
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+
+        assertThat(dataSource.getConnection().unwrap(Connection.class)).isSameAs(pooled);
+    }
+
+    @Test
+    void checkoutTimesOutWhileAllPermitsAreHeld() throws Exception {
+        when(pool.getConnection()).thenReturn(pooled);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 1, 50);
+        Connection held = dataSource.getConnection();
+
+        long startNanos = System.nanoTime();
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("50 ms");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isGreaterThanOrEqualTo(50);
+
+        held.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+}
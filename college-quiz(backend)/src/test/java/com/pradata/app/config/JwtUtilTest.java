@@ -0,0 +1,81 @@
+package com.pradata.app.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private static final long HOUR_MS = 3_600_000L;
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecretString", Base64.getEncoder().encodeToString(new byte[32]));
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", HOUR_MS);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 100);
+        jwtUtil.init();
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceItExpires() throws InterruptedException {
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", 2000L); // JWT expiry has second precision
+        String token = jwtUtil.generateToken("student@college.edu", "Student");
+
+        JwtPrincipal principal = jwtUtil.verify(token);
+        assertThat(principal).isNotNull();
+        assertThat(jwtUtil.verify(token)).isSameAs(principal); // Served from the cache
+
+        Thread.sleep(2100);
+        assertThat(jwtUtil.verify(token)).isNull();
+        assertThat(verifiedTokens()).isEmpty();
+    }
+
+    @Test
+    void tamperedSignatureIsRejectedAfterTheOriginalWasCached() {
+        String token = jwtUtil.generateToken("student@college.edu", "Student");
+        assertThat(jwtUtil.verify(token)).isNotNull();
+
+        int middle = token.lastIndexOf('.') + 10; // Not the last character: its low bits are padding
+        String tampered = token.substring(0, middle) + (token.charAt(middle) == 'A' ? 'B' : 'A') + token.substring(middle + 1);
+        String otherRole = jwtUtil.generateToken("student@college.edu", "Admin");
+        String forged = otherRole.substring(0, otherRole.lastIndexOf('.')) + token.substring(token.lastIndexOf('.'));
+
+        assertThat(jwtUtil.verify(tampered)).isNull();
+        assertThat(jwtUtil.verify(forged)).isNull(); // Admin claims carrying the cached token's signature
+        assertThat(jwtUtil.verify(token).getRole()).isEqualTo("Student");
+    }
+
+    @Test
+    void fullCacheEvictsTheTokensThatExpireFirst() {
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 2);
+        String soon = tokenFor("soon@college.edu", HOUR_MS);
+        String late = tokenFor("late@college.edu", 3 * HOUR_MS);
+        String middle = tokenFor("middle@college.edu", 2 * HOUR_MS);
+
+        jwtUtil.verify(soon);
+        jwtUtil.verify(late);
+        jwtUtil.verify(middle);
+
+        assertThat(verifiedTokens().values()).extracting(JwtPrincipal::getEmail)
+                .containsExactlyInAnyOrder("late@college.edu", "middle@college.edu");
+        assertThat(jwtUtil.verify(soon)).isNotNull(); // Still valid, just verified again
+        assertThat(verifiedTokens()).hasSize(2);
+    }
+
+    private String tokenFor(String email, long expirationMs) {
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", expirationMs);
+        return jwtUtil.generateToken(email, "Student");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, JwtPrincipal> verifiedTokens() {
+        return (Map<String, JwtPrincipal>) ReflectionTestUtils.getField(jwtUtil, "verifiedTokens");
+    }
+}
@@ -0,0 +1,58 @@
+package com.pradata.app.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeysetPageTest {
+
+    @Test
+    void extraRowSetsTheCursorToTheLastReturnedItem() {
+        KeysetPage<Long> page = KeysetPage.of(List.of(11L, 12L, 13L, 14L), 3, Long::longValue);
+
+        assertThat(page.getItems()).containsExactly(11L, 12L, 13L);
+        assertThat(page.getNextCursor()).isEqualTo(13L);
+        assertThat(page.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        assertThat(KeysetPage.of(List.of(11L, 12L, 13L), 3, Long::longValue).getNextCursor()).isNull();
+        assertThat(KeysetPage.of(List.<Long>of(), 3, Long::longValue).getItems()).isEmpty();
+    }
+
+    @Test
+    void clampLimitKeepsPageSizesInRange() {
+        assertThat(KeysetPage.clampLimit(null)).isEqualTo(KeysetPage.DEFAULT_LIMIT);
+        assertThat(KeysetPage.clampLimit(0)).isEqualTo(1);
+        assertThat(KeysetPage.clampLimit(-5)).isEqualTo(1);
+        assertThat(KeysetPage.clampLimit(10_000)).isEqualTo(KeysetPage.MAX_LIMIT);
+    }
+
+    @Test
+    void legacyListIsCappedAndFlaggedAsTruncated() {
+        List<Integer> rows = IntStream.rangeClosed(1, KeysetPage.LEGACY_LIST_CAP + 1).boxed().toList();
+
+        ResponseEntity<List<Integer>> response = KeysetPage.legacyList(rows, "/api/questions");
+
+        assertThat(response.getBody()).hasSize(KeysetPage.LEGACY_LIST_CAP).endsWith(KeysetPage.LEGACY_LIST_CAP);
+        assertThat(response.getHeaders().getFirst("X-Result-Truncated")).isEqualTo("true");
+        assertThat(response.getHeaders().getFirst("Deprecation")).isEqualTo("true");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.LINK)).isEqualTo("</api/questions>; rel=\"successor-version\"");
+    }
+
+    @Test
+    void legacyListAtTheCapIsNotTruncated() {
+        List<Integer> rows = IntStream.rangeClosed(1, KeysetPage.LEGACY_LIST_CAP).boxed().toList();
+
+        ResponseEntity<List<Integer>> response = KeysetPage.legacyList(rows, "/api/admin/users/page");
+
+        assertThat(response.getBody()).hasSize(KeysetPage.LEGACY_LIST_CAP);
+        assertThat(response.getHeaders().containsKey("X-Result-Truncated")).isFalse();
+    }
+}
@@ -0,0 +1,81 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Question;
+import com.pradata.app.model.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnswerKeyTest {
+
+    // Deliberately unsorted: the key sorts by question ID for its binary searches
+    private final AnswerKey key = AnswerKey.of(3, List.of(
+            question(30, "Paris", "Paris", "Rome", "Oslo", "Bern"),
+            question(10, "4", "3", "4", "5", "6"),
+            question(20, "TCP", "UDP", "TCP", "IP", "ARP")), 45);
+
+    @Test
+    void gradeCountsOnePointPerExactlyMatchingAnswer() {
+        assertThat(key.grade(List.of(response(10, "4"), response(20, "TCP"), response(30, "Paris")))).isEqualTo(3);
+        assertThat(key.grade(List.of(response(10, "4"), response(20, "tcp"), response(30, "Paris ")))).isEqualTo(1); // Case and spaces matter
+        assertThat(key.grade(List.of(response(20, "TCP"), response(99, "TCP")))).isEqualTo(1); // Not in this quiz
+    }
+
+    @Test
+    void missingOrEmptyResponsesScoreNothing() {
+        assertThat(key.grade(null)).isZero();
+        assertThat(key.grade(List.of())).isZero();
+        assertThat(key.grade(Arrays.asList(null, response(10, null), response(10, "4")))).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedResponsesCountOnceWithTheLastOneWinning() {
+        List<Response> repeated = List.of(response(10, "4"), response(10, "4"), response(10, "4"), response(20, "TCP"));
+        assertThat(key.grade(repeated)).isEqualTo(2);
+        assertThat(key.grade(List.of(response(20, "TCP"), response(20, "UDP")))).isZero();
+
+        List<Response> answered = key.answered(List.of(response(30, "Rome"), response(99, "x"), response(10, "3"), response(30, "Paris")));
+        assertThat(answered).extracting(Response::getId).containsExactly(10, 30);
+        assertThat(answered).extracting(Response::getResponse).containsExactly("3", "Paris");
+    }
+
+    @Test
+    void optionIndexMatchesTheFirstEqualOption() {
+        assertThat(key.optionIndex(response(30, "Oslo"))).isEqualTo(3);
+        assertThat(key.optionIndex(response(10, "3"))).isEqualTo(1);
+        assertThat(key.optionIndex(response(10, "seven"))).isZero();
+        assertThat(key.optionIndex(response(99, "3"))).isZero();
+    }
+
+    @Test
+    void exposesVersionDurationAndMembership() {
+        assertThat(key.getVersion()).isEqualTo(3);
+        assertThat(key.getDurationInMinutes()).isEqualTo(45);
+        assertThat(key.size()).isEqualTo(3);
+        assertThat(key.containsQuestion(20)).isTrue();
+        assertThat(key.containsQuestion(15)).isFalse();
+        assertThat(key.rightAnswerFor(30)).isEqualTo("Paris");
+        assertThat(key.rightAnswerFor(15)).isNull();
+    }
+
+    private static Question question(int id, String rightAnswer, String... options) {
+        Question question = new Question();
+        question.setId(id);
+        question.setRightAnswer(rightAnswer);
+        question.setOption1(options[0]);
+        question.setOption2(options[1]);
+        question.setOption3(options[2]);
+        question.setOption4(options[3]);
+        return question;
+    }
+
+    private static Response response(int questionId, String answer) {
+        Response response = new Response();
+        response.setId(questionId);
+        response.setResponse(answer);
+        return response;
+    }
+}
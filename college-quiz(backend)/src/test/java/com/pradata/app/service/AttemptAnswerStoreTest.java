@@ -0,0 +1,81 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Question;
+import com.pradata.app.model.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AttemptAnswerStoreTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private QuestionItemStats questionItemStats;
+
+    @InjectMocks private AttemptAnswerStore store;
+
+    @Captor private ArgumentCaptor<List<Object[]>> rows;
+    @Captor private ArgumentCaptor<Map<Long, List<Response>>> recorded;
+
+    private final AnswerKey answerKey = AnswerKey.of(1, List.of(question(10, "4"), question(20, "TCP")), 30);
+
+    @Test
+    void storesTheLastResponsePerQuestionOfTheQuiz() {
+        store.save(5L, List.of(response(10, "3"), response(99, "injected"), response(20, "TCP"), response(10, "4")), answerKey);
+
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).containsExactly(
+                new Object[] { 5L, 10, "4", true },
+                new Object[] { 5L, 20, "TCP", true });
+        verify(questionItemStats).recordAnswers(recorded.capture(), anyMap());
+        assertThat(recorded.getValue().get(5L)).extracting(Response::getResponse).containsExactly("4", "TCP");
+    }
+
+    @Test
+    void batchOfSeveralAttemptsDropsUnknownQuestions() {
+        store.saveAll(Map.of(
+                        1L, List.of(response(20, "UDP"), response(20, "UDP")),
+                        2L, List.of(response(99, "x"))),
+                Map.of(1L, answerKey, 2L, answerKey));
+
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).containsExactly(new Object[] { 1L, 20, "UDP", false });
+    }
+
+    @Test
+    void nothingToStoreSkipsTheBatch() {
+        store.save(5L, List.of(response(99, "x")), answerKey);
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), rows.capture());
+        verifyNoInteractions(questionItemStats);
+    }
+
+    private static Question question(int id, String rightAnswer) {
+        Question question = new Question();
+        question.setId(id);
+        question.setRightAnswer(rightAnswer);
+        return question;
+    }
+
+    private static Response response(int questionId, String answer) {
+        Response response = new Response();
+        response.setId(questionId);
+        response.setResponse(answer);
+        return response;
+    }
+}
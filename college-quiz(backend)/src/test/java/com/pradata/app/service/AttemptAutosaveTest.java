@@ -0,0 +1,146 @@
+package com.pradata.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradata.app.model.Response;
+import com.pradata.app.model.UserIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AttemptAutosaveTest {
+
+    private static final String STUDENT = "student@college.edu";
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private UserIdentityCache userIdentityCache;
+
+    @InjectMocks private AttemptAutosave autosave; // discard applies right away (no transaction)
+
+    @Captor private ArgumentCaptor<List<Object[]>> batch;
+
+    private final Map<Long, Boolean> submittedByAttempt = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ResponseCodec responseCodec = new ResponseCodec();
+        ReflectionTestUtils.setField(responseCodec, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(autosave, "responseCodec", responseCodec);
+        ReflectionTestUtils.setField(autosave, "minIntervalMillis", 60_000L);
+        ReflectionTestUtils.setField(autosave, "batchSize", 500);
+        ReflectionTestUtils.setField(autosave, "idleEvictionMillis", 3_600_000L);
+        autosave.init();
+        when(userIdentityCache.findByEmail(STUDENT)).thenReturn(Optional.of(new UserIdentity(7L, "Student", STUDENT, "Student")));
+        // Open attempts of student 7, loaded on their first save
+        doAnswer(invocation -> {
+            Long attemptId = invocation.getArgument(2);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong(1)).thenReturn(7L);
+            when(rs.getTimestamp(2)).thenReturn(submittedByAttempt.getOrDefault(attemptId, false) ? Timestamp.valueOf(LocalDateTime.now()) : null);
+            return List.of(invocation.<RowMapper<Object>>getArgument(1).mapRow(rs, 0));
+        }).when(jdbcTemplate).query(startsWith("SELECT student_id"), ArgumentMatchers.<RowMapper<Object>>any(), any());
+    }
+
+    @Test
+    void eachAttemptIsWrittenAtMostOncePerInterval() {
+        save(1L, 10, "TCP");
+        autosave.flush();
+        save(1L, 11, "UDP");
+        autosave.flush(); // Within the interval: stays in memory
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertThat(autosave.savedAnswers(1L, null)).extracting(Response::getResponse).containsExactly("TCP", "UDP");
+
+        autosave.flushAll(); // Shutdown ignores the interval
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue()).hasSize(1);
+    }
+
+    @Test
+    void dueAttemptsShareOneTransactionInBatchesOfTheConfiguredSize() {
+        ReflectionTestUtils.setField(autosave, "batchSize", 2);
+        save(1L, 10, "TCP");
+        save(2L, 10, "UDP");
+        save(3L, 10, "ARP");
+
+        autosave.flush();
+
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getAllValues()).extracting(List::size).containsExactly(2, 1);
+    }
+
+    @Test
+    void failedFlushMarksTheDraftsDirtyAgain() {
+        ReflectionTestUtils.setField(autosave, "minIntervalMillis", 0L);
+        when(jdbcTemplate.batchUpdate(anyString(), ArgumentMatchers.<List<Object[]>>any()))
+                .thenThrow(new QueryTimeoutException("statement timeout"))
+                .thenReturn(new int[] { 1 });
+        save(1L, 10, "TCP");
+
+        autosave.flush();
+        autosave.flush(); // Retried with the same answers
+        autosave.flush(); // Nothing left to write
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        assertThat((String) batch.getValue().get(0)[0]).contains("TCP");
+    }
+
+    @Test
+    void saveAfterTheSubmissionIsRejected() {
+        save(1L, 10, "TCP");
+        submittedByAttempt.put(1L, true);
+
+        autosave.discard(1L);
+
+        assertThat(autosave.save(1L, List.of(response(10, "UDP")), STUDENT).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        autosave.flushAll();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), ArgumentMatchers.<List<Object[]>>any());
+    }
+
+    private void save(long attemptId, int questionId, String answer) {
+        assertThat(autosave.save(attemptId, List.of(response(questionId, answer)), STUDENT).getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+    }
+
+    private static Response response(int questionId, String answer) {
+        Response response = new Response();
+        response.setId(questionId);
+        response.setResponse(answer);
+        return response;
+    }
+}
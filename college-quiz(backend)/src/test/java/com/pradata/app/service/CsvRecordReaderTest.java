@@ -0,0 +1,62 @@
+package com.pradata.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void crlfAndLfLineEndsBothEndARecord() throws IOException {
+        assertThat(readAll("a,b\r\nc,d\ne,f")).containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"));
+        assertThat(readAll("a,b\r\n")).containsExactly(List.of("a", "b"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasEscapedQuotesAndLineBreaks() throws IOException {
+        List<List<String>> records = readAll("\"x, y\",\"say \"\"hi\"\"\",\"two\r\nlines\"\r\nnext,row\r\n");
+
+        assertThat(records).containsExactly(List.of("x, y", "say \"hi\"", "two\r\nlines"), List.of("next", "row"));
+    }
+
+    @Test
+    void emptyFieldsAreKeptAndBlankLinesSkipped() throws IOException {
+        assertThat(readAll("a,,\r\n\r\n\n,b\n")).containsExactly(List.of("a", "", ""), List.of("", "b"));
+        assertThat(readAll("\"\",x")).containsExactly(List.of("", "x"));
+    }
+
+    @Test
+    void recordStartLineCountsLinesInsideQuotedFields() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("h1,h2\r\n\"multi\r\nline\",1\r\n\r\nlast,2\r\n"));
+
+        reader.next();
+        assertThat(reader.getRecordStartLine()).isEqualTo(1);
+        reader.next();
+        assertThat(reader.getRecordStartLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("last", "2");
+        assertThat(reader.getRecordStartLine()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void unterminatedQuoteIsAnError() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("ok,1\n\"never closed,2\n"));
+
+        assertThatThrownBy(() -> { reader.next(); reader.next(); })
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record = reader.next(); record != null; record = reader.next()) records.add(record);
+        return records;
+    }
+}
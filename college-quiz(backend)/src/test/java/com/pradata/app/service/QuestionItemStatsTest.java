@@ -0,0 +1,133 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Question;
+import com.pradata.app.model.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionItemStatsTest {
+
+    private static final int QUESTION_ID = 10;
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks private QuestionItemStats stats; // recordAnswers applies right away (no transaction)
+
+    private final AnswerKey answerKey = AnswerKey.of(1, List.of(question()), 30);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stats, "parallelism", 1);
+        ReflectionTestUtils.setField(stats, "chunkAttempts", 5000);
+        stats.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stats.shutdown();
+    }
+
+    @Test
+    void picksCountTheFourOptionsAndLumpOtherTextTogether() {
+        Map<String, Object> empty = new HashMap<>();
+        empty.put("lo", null);
+        empty.put("hi", null);
+        when(jdbcTemplate.queryForMap(anyString())).thenReturn(empty);
+        stats.snapshots(List.of(QUESTION_ID)); // Triggers the (empty) lazy load
+
+        record(1L, "TCP");
+        record(2L, "UDP");
+        record(3L, "UDP");
+        record(4L, "udp ");
+        record(5L, "anything at all");
+        record(6L, null);
+
+        QuestionItemStats.Snapshot snapshot = stats.snapshots(List.of(QUESTION_ID)).get(QUESTION_ID);
+        assertThat(snapshot.optionPicks()).containsExactly(1, 2, 0, 0);
+        assertThat(snapshot.otherPicks()).isEqualTo(2);
+        assertThat(snapshot.unanswered()).isEqualTo(1);
+        assertThat(snapshot.attempts()).isEqualTo(6);
+        assertThat(snapshot.correct()).isEqualTo(1);
+    }
+
+    @Test
+    void answersCommittedWhileTheScanRunsAreCountedOnce() throws Exception {
+        when(jdbcTemplate.queryForMap(anyString())).thenReturn(Map.of("lo", 1L, "hi", 1L));
+        Thread[] grader = new Thread[1];
+        // The scan reads attempt 1; meanwhile a batch with attempts 1 (already read) and 2 (not read) commits
+        doAnswer(invocation -> {
+            grader[0] = new Thread(() -> stats.recordAnswers(
+                    Map.of(1L, List.of(response("TCP")), 2L, List.of(response("UDP"))),
+                    Map.of(1L, answerKey, 2L, answerKey)));
+            grader[0].start();
+            grader[0].join(200); // Blocked on the write lock until the pass finishes
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row(1L, "TCP", true));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), anyLong(), anyLong());
+
+        stats.snapshots(List.of(QUESTION_ID));
+        grader[0].join(5000);
+
+        QuestionItemStats.Snapshot snapshot = stats.snapshots(List.of(QUESTION_ID)).get(QUESTION_ID);
+        assertThat(snapshot.attempts()).isEqualTo(2);
+        assertThat(snapshot.optionPicks()).containsExactly(1, 1, 0, 0);
+    }
+
+    private void record(long attemptId, String answer) {
+        stats.recordAnswers(Map.of(attemptId, List.of(response(answer))), Map.of(attemptId, answerKey));
+    }
+
+    private static ResultSet row(long attemptId, String chosen, boolean correct) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        String[] options = { "TCP", "UDP", "ICMP", "ARP" };
+        when(rs.getLong(1)).thenReturn(attemptId);
+        when(rs.getInt(2)).thenReturn(QUESTION_ID);
+        when(rs.getString(3)).thenReturn(chosen);
+        when(rs.getBoolean(4)).thenReturn(correct);
+        for (int column = 5; column <= 8; column++) {
+            when(rs.getString(column)).thenReturn(options[column - 5]);
+        }
+        return rs;
+    }
+
+    private static Question question() {
+        Question question = new Question();
+        question.setId(QUESTION_ID);
+        question.setOption1("TCP");
+        question.setOption2("UDP");
+        question.setOption3("ICMP");
+        question.setOption4("ARP");
+        question.setRightAnswer("TCP");
+        return question;
+    }
+
+    private static Response response(String answer) {
+        Response response = new Response();
+        response.setId(QUESTION_ID);
+        response.setResponse(answer);
+        return response;
+    }
+}
@@ -0,0 +1,103 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionPoolCacheTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks private QuestionPoolCache pools; // The mock reads an empty question table; hooks apply right away (no transaction)
+
+    @BeforeEach
+    void setUp() {
+        assertThat(pools.available("java", null)).isZero(); // Triggers the (empty) lazy load
+        List<Question> bank = new ArrayList<>();
+        for (int id = 1; id <= 20; id++) bank.add(question(id, "Java", id <= 12 ? "Easy" : "Hard"));
+        for (int id = 21; id <= 25; id++) bank.add(question(id, "Networks", "Easy"));
+        pools.indexAll(bank);
+    }
+
+    @Test
+    void categoryAndDifficultyMatchCaseInsensitively() {
+        assertThat(pools.available("java", null)).isEqualTo(20);
+        assertThat(pools.available(" JAVA ", "easy")).isEqualTo(12);
+        assertThat(pools.available("Networks", "Hard")).isZero();
+    }
+
+    @Test
+    void sparseAndDenseDrawsReturnDistinctEligibleIds() {
+        Set<Integer> exclude = Set.of(1, 2, 3);
+        for (int count : new int[] { 3, 9 }) { // 3 of 9 eligible takes the sparse path, 9 of 9 the dense one
+            for (long seed = 0; seed < 50; seed++) {
+                List<Integer> picked = pools.sample("Java", "Easy", count, exclude, new Random(seed));
+                assertThat(picked).hasSize(count).doesNotHaveDuplicates().doesNotContainAnyElementsOf(exclude);
+                assertThat(picked).allMatch(id -> id >= 4 && id <= 12);
+            }
+        }
+    }
+
+    @Test
+    void sampleIsNullWhenTooFewQuestionsAreEligible() {
+        assertThat(pools.sample("Networks", null, 5, Set.of(), new Random(1))).hasSize(5);
+        assertThat(pools.sample("Networks", null, 5, Set.of(21), new Random(1))).isNull();
+        assertThat(pools.sample("Biology", null, 1, Set.of(), new Random(1))).isNull();
+    }
+
+    @Test
+    void updatesMoveQuestionsBetweenPoolsAndRemovalsDropThem() {
+        pools.index(question(21, "Java", "Hard"));
+        pools.remove(22);
+
+        assertThat(pools.available("Networks", null)).isEqualTo(3);
+        assertThat(pools.available("Java", "Hard")).isEqualTo(9);
+        Set<Integer> all = new HashSet<>(pools.sample("Java", "Hard", 9, Set.of(), new Random(7)));
+        assertThat(all).contains(21);
+    }
+
+    @Test
+    void questionCommittedWhileThePoolsLoadIsFiled() throws Exception {
+        QuestionPoolCache fresh = new QuestionPoolCache();
+        ReflectionTestUtils.setField(fresh, "jdbcTemplate", jdbcTemplate);
+        Thread[] writer = new Thread[1];
+        // A question commits while the load's SELECT is running; its hook waits for the load's lock
+        doAnswer(invocation -> {
+            writer[0] = new Thread(() -> fresh.index(question(30, "Java", "Easy")));
+            writer[0].start();
+            writer[0].join(200);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        fresh.available("Java", null); // The read did not include question 30
+        writer[0].join(5000);
+        assertThat(fresh.available("Java", null)).isEqualTo(1);
+    }
+
+    private static Question question(int id, String category, String difficulty) {
+        Question question = new Question();
+        question.setId(id);
+        question.setCategory(category);
+        question.setDifficultyLevel(difficulty);
+        return question;
+    }
+}
@@ -0,0 +1,115 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionSearchIndexTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks private QuestionSearchIndex index; // The mock reads an empty question table; hooks apply right away (no transaction)
+
+    @BeforeEach
+    void setUp() {
+        index.search("warmup", null, null, 0, 10); // Triggers the (empty) lazy load
+        index.index(question(1, "Java", "Easy", "What is a binary search tree?", "A tree", "A list", "A heap", "A graph"));
+        index.index(question(2, "Java", "Hard", "Balance a binary tree", "Rotate", "Binary split", "Binary merge", "Recolor"));
+        index.index(question(3, "Networks", "Easy", "Binary exponential backoff in Ethernet", "Doubling", "Halving", "Fixed", "Random"));
+        index.index(question(4, "Java", "Easy", "Linked list insertion", "Head", "Tail", "Middle", "Any"));
+    }
+
+    @Test
+    void tokenizeLowercasesAndDropsStopWords() {
+        assertThat(QuestionSearchIndex.tokenize("What is the TCP/IP stack?")).containsExactly("tcp", "ip", "stack");
+    }
+
+    @Test
+    void allTermsMustMatchAndTitleWordsOutrankOptionWords() {
+        QuestionSearchIndex.Hits hits = index.search("binary", null, null, 0, 10);
+
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(hits.questionIds()).containsExactly(2, 1, 3); // Question 2 has "binary" in its title and two options
+        assertThat(index.search("binary tree", null, null, 0, 10).questionIds()).containsExactlyInAnyOrder(1, 2);
+        assertThat(index.search("binary unicorn", null, null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void lastTermMatchesAsAPrefix() {
+        assertThat(index.search("ethern", null, null, 0, 10).questionIds()).containsExactly(3);
+        assertThat(index.search("binary backo", null, null, 0, 10).questionIds()).containsExactly(3);
+        assertThat(index.search("ethern binary", null, null, 0, 10).total()).isZero(); // Only the last term expands
+        assertThat(index.search("l", null, null, 0, 10).total()).isZero(); // Too short to expand
+    }
+
+    @Test
+    void filtersAndPagingApplyToTheRankedMatches() {
+        assertThat(index.search("binary", "java", null, 0, 10).questionIds()).containsExactly(2, 1);
+        assertThat(index.search("binary", "java", "easy", 0, 10).questionIds()).containsExactly(1);
+
+        QuestionSearchIndex.Hits second = index.search("binary", null, null, 1, 1);
+        assertThat(second.questionIds()).containsExactly(1);
+        assertThat(second.total()).isEqualTo(3);
+    }
+
+    @Test
+    void updatesAndRemovalsApplyAfterTheLoad() {
+        index.index(question(4, "Java", "Easy", "Binary heap insertion", "Sift up", "Sift down", "Append", "Any"));
+        index.remove(3);
+
+        assertThat(index.search("binary", null, null, 0, 10).questionIds()).containsExactlyInAnyOrder(1, 2, 4);
+        assertThat(index.search("linked", null, null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void questionCommittedWhileTheIndexLoadsIsIndexed() {
+        QuestionSearchIndex fresh = new QuestionSearchIndex();
+        ReflectionTestUtils.setField(fresh, "jdbcTemplate", jdbcTemplate);
+        // A question commits while the load's SELECT is running; its hook waits for the load's lock
+        doAnswer(invocation -> {
+            Thread writer = new Thread(() -> fresh.index(question(9, "Java", "Easy", "Hash map collisions", "Chaining", "Probing", "Both", "None")));
+            writer.start();
+            writer.join(200); // Blocked on the write lock until the load finishes
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        fresh.search("warmup", null, null, 0, 10); // The read did not include question 9
+        waitUntil(() -> fresh.search("collisions", null, null, 0, 10).total() == 1);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Question question(int id, String category, String difficulty, String title, String... options) {
+        Question question = new Question();
+        question.setId(id);
+        question.setCategory(category);
+        question.setDifficultyLevel(difficulty);
+        question.setQuestionTitle(title);
+        question.setOption1(options[0]);
+        question.setOption2(options[1]);
+        question.setOption3(options[2]);
+        question.setOption4(options[3]);
+        return question;
+    }
+}
@@ -0,0 +1,69 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Quiz;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuizAssignmentIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    private final QuizAssignmentIndex index = new QuizAssignmentIndex(); // Loaded through rebuild; hooks apply right away (no transaction)
+
+    @BeforeEach
+    void setUp() {
+        index.rebuild(List.of(
+                quiz(1, "PUBLISHED", "21CS"),
+                quiz(2, "PUBLISHED", "21cs0, 21EC"),
+                quiz(3, "PUBLISHED", "21CS042"),
+                quiz(4, "PUBLISHED", "Asha@College.edu"),
+                quiz(5, "PUBLISHED", null),
+                quiz(6, "DRAFT", "21CS")));
+    }
+
+    @Test
+    void studentGetsEveryPrefixOfTheRollNumberTheirEmailAndOpenQuizzes() {
+        assertThat(index.findAssignedQuizIds("asha@college.edu", "21cs042", true)).containsExactlyInAnyOrder(1, 2, 3, 4, 5);
+        assertThat(index.findAssignedQuizIds("ravi@college.edu", "21cs1", true)).containsExactlyInAnyOrder(1, 5);
+        assertThat(index.findAssignedQuizIds("ravi@college.edu", "21ec7", true)).containsExactlyInAnyOrder(2, 5);
+        assertThat(index.findAssignedQuizIds("ravi@college.edu", "21c", true)).containsExactly(5); // Shorter than every criterion
+    }
+
+    @Test
+    void nonStudentMatchesTheFullEmailOnly() {
+        assertThat(index.findAssignedQuizIds("asha@college.edu", "asha@college.edu", false)).containsExactlyInAnyOrder(4, 5);
+        assertThat(index.findAssignedQuizIds("21cs@college.edu", "21cs@college.edu", false)).containsExactly(5);
+    }
+
+    @Test
+    void removalPrunesOnlyThatQuizFromSharedTriePaths() {
+        index.remove(1);
+        index.refresh(quiz(2, "DRAFT", "21cs0, 21EC")); // Unpublished: leaves the index
+
+        assertThat(index.findAssignedQuizIds("asha@college.edu", "21cs042", true)).containsExactlyInAnyOrder(3, 4, 5);
+        assertThat(index.findAssignedQuizIds("ravi@college.edu", "21cs1", true)).containsExactly(5);
+    }
+
+    @Test
+    void refreshReplacesTheCriteriaOfAQuiz() {
+        index.refresh(quiz(3, "PUBLISHED", "22ME"));
+
+        assertThat(index.findAssignedQuizIds("asha@college.edu", "21cs042", true)).containsExactlyInAnyOrder(1, 2, 4, 5);
+        assertThat(index.findAssignedQuizIds("ravi@college.edu", "22me9", true)).containsExactlyInAnyOrder(3, 5);
+    }
+
+    private static Quiz quiz(int id, String status, String criteria) {
+        Quiz quiz = new Quiz();
+        quiz.setId(id);
+        quiz.setStatus(status);
+        quiz.setAssignmentCriteria(criteria);
+        quiz.setStartTime(START);
+        quiz.setEndTime(START.plusHours(2));
+        return quiz;
+    }
+}
@@ -0,0 +1,117 @@
+package com.pradata.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuizLeaderboardTest {
+
+    private static final int QUIZ_ID = 3;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks private QuizLeaderboard leaderboard; // The mock reads an empty table; recordScore applies right away (no transaction)
+
+    private long nextAttemptId = 1;
+
+    @Test
+    void rankCountsStrictlyBetterScoresAndPercentileCountsTiesHalf() {
+        assertThat(leaderboard.totalSubmissions(QUIZ_ID)).isZero();
+        record(2, 5, 5, 8, 10);
+
+        QuizLeaderboard.Standing five = leaderboard.standingOf(QUIZ_ID, 5);
+        assertThat(five.rank()).isEqualTo(3); // 10 and 8 are better
+        assertThat(five.total()).isEqualTo(5);
+        assertThat(five.percentile()).isEqualTo(100.0 * (1 + 2 / 2.0) / 5);
+
+        assertThat(leaderboard.standingOf(QUIZ_ID, 10).rank()).isEqualTo(1);
+        assertThat(leaderboard.standingOf(QUIZ_ID, 2).percentile()).isEqualTo(10.0);
+        assertThat(leaderboard.standingOf(QUIZ_ID, 7).rank()).isEqualTo(3); // Not on the board: 2 better scores
+    }
+
+    @Test
+    void scoresBeyondTheInitialTreeSizeKeepEarlierCounts() {
+        leaderboard.totalSubmissions(QUIZ_ID);
+        record(1, 40, 63);
+        record(500); // Grows the Fenwick tree
+
+        assertThat(leaderboard.standingOf(QUIZ_ID, 63).rank()).isEqualTo(2);
+        assertThat(leaderboard.standingOf(QUIZ_ID, 40).rank()).isEqualTo(3);
+        assertThat(leaderboard.standingOf(QUIZ_ID, 1).rank()).isEqualTo(4);
+        assertThat(leaderboard.totalSubmissions(QUIZ_ID)).isEqualTo(4);
+    }
+
+    @Test
+    void topListsBestFirstWithEarlierSubmissionWinningTies() {
+        leaderboard.totalSubmissions(QUIZ_ID);
+        leaderboard.recordScore(QUIZ_ID, 1L, 11L, 7, NOW.plusMinutes(2));
+        leaderboard.recordScore(QUIZ_ID, 2L, 12L, 9, NOW.plusMinutes(5));
+        leaderboard.recordScore(QUIZ_ID, 3L, 13L, 7, NOW.plusMinutes(1));
+
+        assertThat(leaderboard.top(QUIZ_ID, 10)).extracting(QuizLeaderboard.Entry::attemptId).containsExactly(2L, 3L, 1L);
+        assertThat(leaderboard.top(QUIZ_ID, 2)).hasSize(2);
+    }
+
+    @Test
+    void scoreCommittedWhileTheBoardLoadsIsNotLost() {
+        AtomicBoolean committed = new AtomicBoolean();
+        // The scan has read the table when another submission commits
+        doAnswer(invocation -> {
+            if (committed.compareAndSet(false, true)) leaderboard.recordScore(QUIZ_ID, 99L, 9L, 4, NOW);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(QUIZ_ID));
+
+        assertThat(leaderboard.totalSubmissions(QUIZ_ID)).isEqualTo(1);
+        assertThat(leaderboard.top(QUIZ_ID, 1)).extracting(QuizLeaderboard.Entry::attemptId).containsExactly(99L);
+    }
+
+    @Test
+    void scoreCommittedBeforeTheSnapshotIsCountedOnce() {
+        // The submission commits (so the scan reads it) but its after-commit hook only runs while the scan is open
+        doAnswer(invocation -> {
+            leaderboard.recordScore(QUIZ_ID, 99L, 9L, 4, NOW);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row(99L, 9L, 4));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(QUIZ_ID));
+
+        assertThat(leaderboard.totalSubmissions(QUIZ_ID)).isEqualTo(1);
+        leaderboard.recordScore(QUIZ_ID, 99L, 9L, 4, NOW); // A hook for a read attempt arriving after the install
+        assertThat(leaderboard.totalSubmissions(QUIZ_ID)).isEqualTo(1);
+        assertThat(leaderboard.top(QUIZ_ID, 10)).extracting(QuizLeaderboard.Entry::attemptId).containsExactly(99L);
+    }
+
+    private void record(int... scores) {
+        for (int score : scores) {
+            long attemptId = nextAttemptId++;
+            leaderboard.recordScore(QUIZ_ID, attemptId, attemptId + 100, score, NOW.plusSeconds(attemptId));
+        }
+    }
+
+    private static ResultSet row(long attemptId, long studentId, int score) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(attemptId);
+        when(rs.getLong(2)).thenReturn(studentId);
+        when(rs.getInt(3)).thenReturn(score);
+        when(rs.getTimestamp(4)).thenReturn(Timestamp.valueOf(NOW));
+        return rs;
+    }
+}
@@ -0,0 +1,120 @@
+package com.pradata.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pradata.app.model.LiveQuizStatsDto;
+import com.pradata.app.model.UserIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@ExtendWith(MockitoExtension.class)
+class QuizLiveFeedTest {
+
+    private static final int QUIZ_ID = 4;
+    private static final String ADMIN = "admin@college.edu";
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private UserIdentityCache userIdentityCache;
+
+    @InjectMocks private QuizLiveFeed feed; // Hooks apply right away (no transaction)
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(feed, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(feed, "emitterTimeoutMillis", 60_000L);
+        when(jdbcTemplate.queryForList(anyString(), eq(QUIZ_ID)))
+                .thenReturn(List.of(Map.of("created_by_user_id", 1L, "duration_in_minutes", 30)));
+        when(userIdentityCache.findByEmail(ADMIN)).thenReturn(Optional.of(new UserIdentity(2L, "Admin", ADMIN, "Admin")));
+    }
+
+    @Test
+    void changesCommittedWhileTheChannelLoadsAreAppliedOnce() {
+        doAnswer(invocation -> {
+            // Attempt 6 starts and submits after the scan's snapshot; attempt 2's grade and attempt 5's start
+            // committed before it, but their hooks only run now
+            feed.recordStart(QUIZ_ID, 6L);
+            feed.recordSubmission(QUIZ_ID, 6L, false, 7);
+            feed.recordScore(QUIZ_ID, 2L, 6);
+            feed.recordStart(QUIZ_ID, 5L);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(1L, 10, 4));
+            handler.processRow(row(2L, 10, 6));
+            handler.processRow(row(3L, 10, null)); // Waiting for the pipeline
+            handler.processRow(row(4L, null, null));
+            handler.processRow(row(5L, null, null));
+            handler.processRow(row(8L, 40, 0)); // Past duration + 1 min
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id"), any(RowCallbackHandler.class), eq(QUIZ_ID));
+
+        assertThat(feed.subscribe(QUIZ_ID, ADMIN).getStatusCode()).isEqualTo(HttpStatus.OK);
+        feed.recordStart(QUIZ_ID, 7L);
+        feed.recordScore(QUIZ_ID, 1L, 4); // A late hook for a grade the scan already had
+
+        LiveQuizStatsDto frame = frame();
+        assertThat(frame.getStarted()).isEqualTo(8);
+        assertThat(frame.getSubmitted()).isEqualTo(5);
+        assertThat(frame.getLate()).isEqualTo(1);
+        assertThat(frame.getGraded()).isEqualTo(4);
+        assertThat(frame.getAverageScore()).isEqualTo(17.0 / 4);
+    }
+
+    @Test
+    void failedLoadLeavesNoChannelBehind() {
+        doThrow(new IllegalStateException("connection refused"))
+                .when(jdbcTemplate).query(startsWith("SELECT id"), any(RowCallbackHandler.class), eq(QUIZ_ID));
+
+        assertThatThrownBy(() -> feed.subscribe(QUIZ_ID, ADMIN)).isInstanceOf(IllegalStateException.class);
+        feed.recordStart(QUIZ_ID, 1L); // Nobody watching: nothing to update
+
+        assertThat(channels()).isEmpty();
+    }
+
+    // An attempt started at START; submittedAfterMinutes and score are null while it is open or ungraded
+    private static ResultSet row(long attemptId, Integer submittedAfterMinutes, Integer score) throws Exception {
+        ResultSet rs = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+        when(rs.getLong(1)).thenReturn(attemptId);
+        when(rs.getTimestamp(2)).thenReturn(Timestamp.valueOf(START));
+        when(rs.getTimestamp(3)).thenReturn(
+                submittedAfterMinutes != null ? Timestamp.valueOf(START.plusMinutes(submittedAfterMinutes)) : null);
+        when(rs.getInt(4)).thenReturn(score != null ? score : 0);
+        when(rs.wasNull()).thenReturn(score == null);
+        return rs;
+    }
+
+    private LiveQuizStatsDto frame() {
+        return ReflectionTestUtils.invokeMethod(channels().get(QUIZ_ID), "frame", QUIZ_ID);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, Object> channels() {
+        return (Map<Integer, Object>) ReflectionTestUtils.getField(feed, "channels");
+    }
+}
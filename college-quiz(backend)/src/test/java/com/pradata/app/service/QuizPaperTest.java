@@ -0,0 +1,81 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Question;
+import com.pradata.app.model.QuestionWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuizPaperTest {
+
+    private final List<Question> questions = List.of(
+            question(1, "A", "a1", "a2", "a3", "a4"),
+            question(2, "B", "b1", "b2", "b3", "b4"),
+            question(3, "C", "c1", null, "c3", null),
+            question(4, "D", "d1", "d2", "d3", "d4"),
+            question(5, "E", "e1", "e2", "e3", "e4"));
+
+    @Test
+    void sameSeedRendersTheSamePaper() {
+        QuizPaper paper = QuizPaper.of(questions);
+
+        for (long seed : new long[] { 0, 42, -7, Long.MAX_VALUE }) {
+            assertThat(paper.render(seed)).isEqualTo(paper.render(seed)).isEqualTo(QuizPaper.of(questions).render(seed));
+        }
+    }
+
+    @Test
+    void seedsPermuteQuestionsAndOptionsWithoutMixingThem() {
+        QuizPaper paper = QuizPaper.of(questions);
+        Set<List<Integer>> orders = new HashSet<>();
+
+        for (long seed = 0; seed < 50; seed++) {
+            List<QuestionWrapper> rendered = paper.render(seed);
+            orders.add(rendered.stream().map(QuestionWrapper::getId).toList());
+            for (QuestionWrapper wrapper : rendered) {
+                Question source = questions.get(wrapper.getId() - 1);
+                assertThat(wrapper.getQuestionTitle()).isEqualTo(source.getQuestionTitle());
+                assertThat(optionsOf(wrapper)).containsExactlyInAnyOrderElementsOf(
+                        Arrays.stream(new String[] { source.getOption1(), source.getOption2(), source.getOption3(), source.getOption4() })
+                                .filter(Objects::nonNull).toList());
+            }
+        }
+        assertThat(orders).hasSizeGreaterThan(1);
+        assertThat(orders).allMatch(order -> new HashSet<>(order).equals(Set.of(1, 2, 3, 4, 5)));
+    }
+
+    @Test
+    void missingOptionsAreCompactedToTheEnd() {
+        QuestionWrapper sparse = QuizPaper.of(questions).render(9).stream().filter(w -> w.getId() == 3).findFirst().orElseThrow();
+
+        assertThat(new String[] { sparse.getOption1(), sparse.getOption2() }).containsExactlyInAnyOrder("c1", "c3");
+        assertThat(sparse.getOption3()).isNull();
+        assertThat(sparse.getOption4()).isNull();
+    }
+
+    private static List<String> optionsOf(QuestionWrapper wrapper) {
+        List<String> options = new ArrayList<>();
+        for (String option : new String[] { wrapper.getOption1(), wrapper.getOption2(), wrapper.getOption3(), wrapper.getOption4() }) {
+            if (option != null) options.add(option);
+        }
+        return options;
+    }
+
+    private static Question question(int id, String title, String... options) {
+        Question question = new Question();
+        question.setId(id);
+        question.setQuestionTitle(title);
+        question.setOption1(options[0]);
+        question.setOption2(options[1]);
+        question.setOption3(options[2]);
+        question.setOption4(options[3]);
+        return question;
+    }
+}
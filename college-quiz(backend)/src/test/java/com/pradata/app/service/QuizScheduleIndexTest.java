@@ -0,0 +1,79 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Quiz;
+import com.pradata.app.service.QuizScheduleIndex.Phase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuizScheduleIndexTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    private final QuizScheduleIndex index = new QuizScheduleIndex(); // Loaded through rebuild; hooks apply right away (no transaction)
+
+    @BeforeEach
+    void setUp() {
+        index.rebuild(List.of(
+                quiz(1, "PUBLISHED", NINE, NINE.plusHours(1)),
+                quiz(2, "PUBLISHED", NINE.plusHours(2), NINE.plusHours(3)),
+                quiz(3, "DRAFT", NINE, NINE.plusHours(1)),
+                quiz(4, "PUBLISHED", null, null)));
+    }
+
+    @Test
+    void phasesFollowTheClockWithInclusiveStartAndEnd() {
+        assertThat(index.phaseOf(1, NINE.minusSeconds(1))).isEqualTo(Phase.UPCOMING);
+        assertThat(index.phaseOf(1, NINE)).isEqualTo(Phase.LIVE);
+        assertThat(index.phaseOf(1, NINE.plusHours(1))).isEqualTo(Phase.LIVE);
+        assertThat(index.phaseOf(1, NINE.plusHours(1).plusSeconds(1))).isEqualTo(Phase.CLOSED);
+        assertThat(index.phaseOf(2, NINE.plusHours(1).plusSeconds(1))).isEqualTo(Phase.UPCOMING);
+    }
+
+    @Test
+    void aLookupFarAheadSkipsStraightToClosed() {
+        assertThat(index.phaseOf(2, NINE.plusDays(1))).isEqualTo(Phase.CLOSED);
+        assertThat(index.phaseOf(1, NINE.plusDays(1))).isEqualTo(Phase.CLOSED);
+    }
+
+    @Test
+    void quizzesOutsideTheIndexHaveNoPhase() {
+        assertThat(index.phaseOf(3, NINE)).isNull(); // Draft
+        assertThat(index.phaseOf(4, NINE)).isNull(); // No time window
+        assertThat(index.phaseOf(99, NINE)).isNull();
+    }
+
+    @Test
+    void retainNotClosedDropsClosedAndUnknownQuizzes() {
+        Set<Integer> ids = new HashSet<>(Set.of(1, 2, 3, 99));
+        index.retainNotClosed(ids, NINE.plusMinutes(90));
+
+        assertThat(ids).containsExactly(2);
+    }
+
+    @Test
+    void refreshedWindowStartsOverAsUpcoming() {
+        assertThat(index.phaseOf(1, NINE.plusHours(2))).isEqualTo(Phase.CLOSED);
+        index.refresh(quiz(1, "PUBLISHED", NINE.plusHours(4), NINE.plusHours(5))); // Rescheduled
+        index.remove(2);
+
+        assertThat(index.phaseOf(1, NINE.plusHours(2))).isEqualTo(Phase.UPCOMING);
+        assertThat(index.phaseOf(1, NINE.plusHours(4))).isEqualTo(Phase.LIVE);
+        assertThat(index.phaseOf(2, NINE.plusHours(4))).isNull();
+    }
+
+    private static Quiz quiz(int id, String status, LocalDateTime start, LocalDateTime end) {
+        Quiz quiz = new Quiz();
+        quiz.setId(id);
+        quiz.setStatus(status);
+        quiz.setStartTime(start);
+        quiz.setEndTime(end);
+        return quiz;
+    }
+}
@@ -0,0 +1,144 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.QuizStatistics;
+import com.pradata.app.model.QuizStatisticsDto;
+import com.pradata.app.model.UserIdentity;
+import com.pradata.app.repository.QuizStatisticsDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class QuizStatisticsServiceTest {
+
+    private static final int QUIZ_ID = 6;
+    private static final String ADMIN = "admin@college.edu";
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private QuizStatisticsDao quizStatisticsDao;
+    @Mock private UserIdentityCache userIdentityCache;
+
+    @InjectMocks private QuizStatisticsService service; // recordScore applies right away (no transaction)
+
+    @BeforeEach
+    void setUp() {
+        service.init();
+        when(jdbcTemplate.queryForList(anyString(), eq(QUIZ_ID))).thenReturn(List.of(Map.of("created_by_user_id", 1L)));
+        when(userIdentityCache.findByEmail(ADMIN)).thenReturn(Optional.of(new UserIdentity(2L, "Admin", ADMIN, "Admin")));
+    }
+
+    @Test
+    void percentilesUseTheNearestRankOfTheHistogram() {
+        // Scores 1, 3, 3, 4, 4, 4, 4, 7, 9, 10 from the stored row
+        QuizStatistics row = new QuizStatistics(QUIZ_ID, 10, 49, 1, 10, "0,1,0,2,4,0,0,1,0,1,1", LocalDateTime.now());
+        when(quizStatisticsDao.findById(QUIZ_ID)).thenReturn(Optional.of(row));
+
+        QuizStatisticsDto stats = statistics();
+        assertThat(stats.getSubmissionCount()).isEqualTo(10);
+        assertThat(stats.getMean()).isEqualTo(4.9);
+        assertThat(stats.getP25()).isEqualTo(3); // 3rd of 10
+        assertThat(stats.getMedian()).isEqualTo(4); // 5th of 10
+        assertThat(stats.getP75()).isEqualTo(7); // 8th of 10
+        assertThat(stats.getP90()).isEqualTo(9); // 9th of 10
+        assertThat(stats.getMinScore()).isEqualTo(1);
+        assertThat(stats.getMaxScore()).isEqualTo(10);
+    }
+
+    @Test
+    void scoresAfterTheLoadAddToTheStoredHistogram() {
+        when(quizStatisticsDao.findById(QUIZ_ID))
+                .thenReturn(Optional.of(new QuizStatistics(QUIZ_ID, 1, 2, 2, 2, "0,0,1", LocalDateTime.now())));
+        service.recordScore(QUIZ_ID, 1L, 40); // Buffered until the row is loaded
+        statistics();
+        service.recordScore(QUIZ_ID, 2L, 5);
+
+        QuizStatisticsDto stats = statistics();
+        assertThat(stats.getSubmissionCount()).isEqualTo(3);
+        assertThat(stats.getMedian()).isEqualTo(5);
+        assertThat(stats.getMaxScore()).isEqualTo(40);
+    }
+
+    @Test
+    void scoreCommittedWhileTheRebuildRunsReloadsTheQuiz() {
+        // The GROUP BY has read quiz_attempts when another submission commits
+        doAnswer(invocation -> {
+            service.recordScore(QUIZ_ID, 3L, 9);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(QUIZ_ID, 5, 2));
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT quiz_id, score"), any(RowCallbackHandler.class));
+        // The stale quiz reloads from quiz_attempts, which now holds the late score too
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(1, 5));
+            handler.processRow(row(2, 5));
+            handler.processRow(row(3, 9));
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, score"), any(RowCallbackHandler.class), eq(QUIZ_ID));
+
+        assertThat(service.rebuildAll().getStatusCode().is2xxSuccessful()).isTrue();
+
+        QuizStatisticsDto stats = statistics();
+        assertThat(stats.getSubmissionCount()).isEqualTo(3);
+        assertThat(stats.getMaxScore()).isEqualTo(9);
+    }
+
+    @Test
+    void scoresCommittedBeforeTheReloadReadsAreCountedOnce() {
+        when(quizStatisticsDao.findById(QUIZ_ID)).thenReturn(Optional.empty());
+        // Attempt 2 commits before the read (which sees it) and attempt 3 after; both hooks fire while it runs
+        doAnswer(invocation -> {
+            service.recordScore(QUIZ_ID, 2L, 6);
+            service.recordScore(QUIZ_ID, 3L, 8);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(1, 4));
+            handler.processRow(row(2, 6));
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, score"), any(RowCallbackHandler.class), eq(QUIZ_ID));
+
+        assertThat(statistics().getSubmissionCount()).isEqualTo(3);
+        service.recordScore(QUIZ_ID, 1L, 4); // A late hook for an attempt the read already had
+
+        QuizStatisticsDto stats = statistics();
+        assertThat(stats.getSubmissionCount()).isEqualTo(3);
+        assertThat(stats.getMean()).isEqualTo(6.0);
+    }
+
+    private QuizStatisticsDto statistics() {
+        return service.getStatistics(QUIZ_ID, ADMIN).getBody();
+    }
+
+    private static ResultSet row(int... columns) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        for (int i = 0; i < columns.length; i++) {
+            when(rs.getInt(i + 1)).thenReturn(columns[i]);
+            when(rs.getLong(i + 1)).thenReturn((long) columns[i]);
+        }
+        return rs;
+    }
+}
@@ -0,0 +1,130 @@
+package com.pradata.app.service;
+
+import com.pradata.app.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StartQuizAdmissionGateTest {
+
+    private static final int QUIZ_ID = 8;
+
+    @Mock private QuizScheduleIndex quizScheduleIndex;
+
+    @InjectMocks private StartQuizAdmissionGate gate;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(gate, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(gate, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(gate, "maxQueue", 500);
+        ReflectionTestUtils.setField(gate, "waitMillis", 20L);
+        ReflectionTestUtils.setField(gate, "retryAfterSeconds", 5);
+        gate.registerMeters();
+        when(quizScheduleIndex.phaseOf(eq(QUIZ_ID), any())).thenReturn(QuizScheduleIndex.Phase.LIVE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void startIsRejectedAfterTheWaitBudgetWithAJitteredRetryAfter() throws Exception {
+        holdSlot();
+
+        long startNanos = System.nanoTime();
+        AdmissionRejectedException first = catchThrowableOfType(AdmissionRejectedException.class, () -> gate.admit(QUIZ_ID, () -> "started"));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isGreaterThanOrEqualTo(20);
+
+        Set<Long> retryAfters = new HashSet<>();
+        retryAfters.add(first.getRetryAfterSeconds());
+        for (int i = 0; i < 30; i++) {
+            retryAfters.add(catchThrowableOfType(AdmissionRejectedException.class, () -> gate.admit(QUIZ_ID, () -> "started"))
+                    .getRetryAfterSeconds());
+        }
+        assertThat(retryAfters).allSatisfy(seconds -> assertThat(seconds).isBetween(5L, 10L)).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void fullQueueIsRejectedWithoutWaiting() throws Exception {
+        ReflectionTestUtils.setField(gate, "maxQueue", 1);
+        ReflectionTestUtils.setField(gate, "waitMillis", 10_000L);
+        holdSlot();
+        Thread waiter = new Thread(() -> {
+            try {
+                gate.admit(QUIZ_ID, () -> "started");
+            } catch (AdmissionRejectedException ignored) {
+                // Gives up once the test ends
+            }
+        });
+        waiter.start();
+        while (semaphore().getQueueLength() < 1) Thread.sleep(1);
+
+        long startNanos = System.nanoTime();
+        assertThatThrownBy(() -> gate.admit(QUIZ_ID, () -> "started")).isInstanceOf(AdmissionRejectedException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isLessThan(5_000);
+
+        release.countDown(); // The queued start gets the slot
+        waiter.join(5_000);
+        assertThat(waiter.isAlive()).isFalse();
+    }
+
+    @Test
+    void idleGatesOfQuizzesNoLongerLiveAreEvicted() throws Exception {
+        assertThat(gate.admit(QUIZ_ID, () -> "started")).isEqualTo("started");
+        assertThat(gate.gateCount()).isEqualTo(1);
+
+        holdSlot();
+        when(quizScheduleIndex.phaseOf(eq(QUIZ_ID), any())).thenReturn(QuizScheduleIndex.Phase.CLOSED);
+        gate.evictClosedGates();
+        assertThat(gate.gateCount()).isEqualTo(1); // A start is still running
+
+        release.countDown();
+        while (semaphore().availablePermits() < 1) Thread.sleep(1);
+        gate.evictClosedGates();
+        assertThat(gate.gateCount()).isZero();
+    }
+
+    // Takes the quiz's only slot on another thread until the test releases it
+    private void holdSlot() throws InterruptedException {
+        CountDownLatch admitted = new CountDownLatch(1);
+        new Thread(() -> gate.admit(QUIZ_ID, () -> {
+            admitted.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        })).start();
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Semaphore semaphore() {
+        return ((Map<Integer, Semaphore>) ReflectionTestUtils.getField(gate, "gates")).get(QUIZ_ID);
+    }
+}
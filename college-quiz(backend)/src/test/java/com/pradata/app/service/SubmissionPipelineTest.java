@@ -0,0 +1,172 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.Question;
+import com.pradata.app.model.Quiz;
+import com.pradata.app.model.Response;
+import com.pradata.app.repository.QuizAttemptDao;
+import com.pradata.app.repository.QuizDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SubmissionPipelineTest {
+
+    private static final int QUIZ_ID = 5;
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private QuizDao quizDao;
+    @Mock private QuizAttemptDao quizAttemptDao;
+    @Mock private AnswerKeyCache answerKeyCache;
+    @Mock private ResponseCodec responseCodec;
+    @Mock private AttemptAnswerStore attemptAnswerStore;
+    @Mock private QuizLeaderboard quizLeaderboard;
+    @Mock private QuizStatisticsService quizStatisticsService;
+    @Mock private QuizLiveFeed quizLiveFeed;
+
+    @InjectMocks private SubmissionPipeline pipeline;
+
+    private final List<Object[]> pendingRows = new ArrayList<>();
+    private BlockingQueue<Long> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new LinkedBlockingQueue<>(10);
+        ReflectionTestUtils.setField(pipeline, "queue", queue);
+        ReflectionTestUtils.setField(pipeline, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(pipeline, "running", true);
+
+        Question question = new Question();
+        question.setId(1);
+        question.setRightAnswer("a");
+        when(quizDao.getReferenceById(QUIZ_ID)).thenReturn(new Quiz());
+        when(answerKeyCache.getOrLoad(any())).thenReturn(AnswerKey.of(1, List.of(question), 30));
+        when(responseCodec.decode("right")).thenReturn(List.of(response(1, "a")));
+        when(responseCodec.decode("wrong")).thenReturn(List.of(response(1, "b")));
+        when(responseCodec.decode("garbled")).thenThrow(new IllegalArgumentException("Could not decode stored responses"));
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<Object[]>>any(), any(Object[].class))).thenReturn(pendingRows);
+        // Every guarded UPDATE applies unless a test says otherwise
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            int[] updated = new int[invocation.<List<?>>getArgument(1).size()];
+            Arrays.fill(updated, 1);
+            return updated;
+        });
+    }
+
+    @Test
+    void enqueueIgnoresAnAttemptAlreadyInTheQueue() {
+        pipeline.enqueue(7L);
+        pipeline.enqueue(7L);
+
+        assertThat(queue).containsExactly(7L);
+    }
+
+    @Test
+    void sideEffectsOnlyForAttemptsTheGuardedUpdateScored() {
+        pending(1L, "right");
+        pending(2L, "wrong");
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE quiz_attempts SET score = ?"), anyList()))
+                .thenReturn(new int[] { 1, 0 }); // Attempt 2 was graded by another worker
+
+        Map<Long, Integer> scores = gradeBatch(1L, 2L);
+
+        assertThat(scores).containsExactly(Map.entry(1L, 1));
+        verify(quizLeaderboard).recordScore(eq(QUIZ_ID), eq(1L), anyLong(), eq(1), any());
+        verify(quizLeaderboard, never()).recordScore(eq(QUIZ_ID), eq(2L), anyLong(), eq(0), any());
+        verify(quizStatisticsService).recordScore(QUIZ_ID, 1L, 1);
+        assertThat(savedAnswerAttempts()).containsExactly(1L);
+    }
+
+    @Test
+    void undecodableSubmissionIsMarkedFailedWithoutHoldingBackTheBatch() {
+        pending(1L, "right");
+        pending(2L, "garbled");
+
+        Map<Long, Integer> scores = gradeBatch(1L, 2L);
+
+        assertThat(scores).containsEntry(1L, 1).containsEntry(2L, 0);
+        assertThat(failedUpdateAttempts()).containsExactly(2L);
+        assertThat(savedAnswerAttempts()).containsExactly(1L);
+    }
+
+    @Test
+    void failedBatchWriteIsRetriedOneAttemptAtATime() {
+        pending(1L, "right");
+        pending(2L, "wrong");
+        doThrow(new DataIntegrityViolationException("value too long for type character varying(255)"))
+                .when(attemptAnswerStore).saveAll(
+                        argThat(answers -> answers != null && answers.containsKey(2L)), anyMap());
+
+        Map<Long, Integer> scores = gradeBatch(1L, 2L);
+
+        assertThat(scores).containsEntry(1L, 1).containsEntry(2L, 0);
+        assertThat(failedUpdateAttempts()).containsExactly(2L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Integer> gradeBatch(Long... attemptIds) {
+        return (Map<Long, Integer>) ReflectionTestUtils.invokeMethod(pipeline, "gradeBatch", List.of(attemptIds));
+    }
+
+    private void pending(long attemptId, String encodedResponses) {
+        pendingRows.add(new Object[] { attemptId, QUIZ_ID, encodedResponses, attemptId + 10, null });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> failedUpdateAttempts() {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE quiz_attempts SET score = 0"), rows.capture());
+        return rows.getValue().stream().map(row -> (Long) row[1]).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> savedAnswerAttempts() {
+        ArgumentCaptor<Map<Long, List<Response>>> answers = ArgumentCaptor.forClass(Map.class);
+        verify(attemptAnswerStore, atLeastOnce()).saveAll(answers.capture(), anyMap());
+        return List.copyOf(answers.getValue().keySet());
+    }
+
+    private static Response response(int questionId, String answer) {
+        Response response = new Response();
+        response.setId(questionId);
+        response.setResponse(answer);
+        return response;
+    }
+}
@@ -0,0 +1,136 @@
+package com.pradata.app.service;
+
+import com.pradata.app.model.User;
+import com.pradata.app.model.UserIdentity;
+import com.pradata.app.repository.QuizAttemptAnswerDao;
+import com.pradata.app.repository.QuizAttemptDao;
+import com.pradata.app.repository.UserDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Real cache in front of a mocked UserDao; the services call it like in production (no transaction: invalidation is immediate)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserIdentityCacheTest {
+
+    @Mock private UserDao userDao;
+    @Mock private QuizAttemptDao quizAttemptDao;
+    @Mock private QuizAttemptAnswerDao quizAttemptAnswerDao;
+    @Mock private QuizStatisticsService quizStatisticsService;
+    @Mock private QuizLeaderboard quizLeaderboard;
+    @Mock private QuestionItemStats questionItemStats;
+
+    @InjectMocks private UserIdentityCache cache;
+    @InjectMocks private AdminService adminService;
+    @InjectMocks private UserService userService;
+
+    private final Map<String, User> users = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.setField(adminService, "userIdentityCache", cache);
+        ReflectionTestUtils.setField(userService, "userIdentityCache", cache);
+        ReflectionTestUtils.setField(userService, "facultyInvitationCode", "CODE");
+        when(userDao.findByEmail(anyString())).thenAnswer(invocation -> Optional.ofNullable(users.get(invocation.<String>getArgument(0))));
+    }
+
+    @Test
+    void entriesAreReloadedOnceTheirTtlHasPassed() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 1L);
+        user(1L, "a@college.edu", "Student");
+
+        cache.findByEmail("a@college.edu");
+        cache.findByEmail("a@college.edu");
+        verify(userDao, times(1)).findByEmail("a@college.edu");
+
+        Thread.sleep(1100);
+        cache.findByEmail("a@college.edu");
+        verify(userDao, times(2)).findByEmail("a@college.edu");
+    }
+
+    @Test
+    void fullCacheEvictsTheOldestEntriesOnly() {
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        user(1L, "a@college.edu", "Student");
+        user(2L, "b@college.edu", "Student");
+        user(3L, "c@college.edu", "Student");
+
+        cache.findByEmail("a@college.edu");
+        cache.findByEmail("b@college.edu");
+        cache.findByEmail("c@college.edu"); // Evicts a, keeps b
+
+        cache.findByEmail("b@college.edu");
+        cache.findByEmail("c@college.edu");
+        verify(userDao, times(1)).findByEmail("b@college.edu");
+        verify(userDao, times(1)).findByEmail("c@college.edu");
+        cache.findByEmail("a@college.edu");
+        verify(userDao, times(2)).findByEmail("a@college.edu");
+    }
+
+    @Test
+    void roleUpdateIsSeenOnTheNextLookup() {
+        User user = user(1L, "a@college.edu", "Student");
+        when(userDao.findById(1L)).thenReturn(Optional.of(user));
+        assertThat(role("a@college.edu")).isEqualTo("Student");
+
+        assertThat(adminService.updateUserRole(1L, "Faculty").getStatusCode().is2xxSuccessful()).isTrue();
+
+        assertThat(role("a@college.edu")).isEqualTo("Faculty");
+    }
+
+    @Test
+    void promotionIsSeenOnTheNextLookup() {
+        user(1L, "a@college.edu", "Student");
+        assertThat(role("a@college.edu")).isEqualTo("Student");
+
+        assertThat(userService.promoteToFaculty("a@college.edu", "CODE")).isTrue();
+
+        assertThat(role("a@college.edu")).isEqualTo("Faculty");
+    }
+
+    @Test
+    void deletedUserIsNoLongerFound() {
+        User user = user(1L, "a@college.edu", "Student");
+        when(userDao.findById(1L)).thenReturn(Optional.of(user));
+        assertThat(cache.findByEmail("a@college.edu")).isPresent();
+
+        assertThat(adminService.deleteUser(1L).getStatusCode().is2xxSuccessful()).isTrue();
+        users.remove("a@college.edu"); // What userDao.deleteById did
+
+        assertThat(cache.findByEmail("a@college.edu")).isEmpty();
+    }
+
+    private String role(String email) {
+        return cache.findByEmail(email).map(UserIdentity::getRole).orElse(null);
+    }
+
+    // Saving through the mocked DAO is a no-op: the services mutate this same instance
+    private User user(Long id, String email, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setName(email);
+        user.setEmail(email);
+        user.setRole(role);
+        users.put(email, user);
+        return user;
+    }
+}
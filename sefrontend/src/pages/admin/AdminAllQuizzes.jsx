@@ -68,7 +68,7 @@ const AdminAllQuizzes = () => {
   const filteredQuizzes = quizzes.filter(quiz => {
     const matchesSearch = quiz.title.toLowerCase().includes(searchTerm.toLowerCase()) ||
                          quiz.subject?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                         quiz.createdBy?.name?.toLowerCase().includes(searchTerm.toLowerCase());
+                         quiz.creatorName?.toLowerCase().includes(searchTerm.toLowerCase());
     
     if (filter === 'all') return matchesSearch;
     const status = getQuizStatus(quiz);
@@ -217,15 +217,15 @@ const AdminAllQuizzes = () => {
                         <div className="flex items-center">
                           <div className="h-8 w-8 bg-primary-100 rounded-full flex items-center justify-center">
                             <span className="text-sm font-medium text-primary-700">
-                              {quiz.createdBy?.name?.charAt(0)?.toUpperCase()}
+                              {quiz.creatorName?.charAt(0)?.toUpperCase()}
                             </span>
                           </div>
                           <div className="ml-3">
                             <div className="text-sm font-medium text-gray-900">
-                              {quiz.createdBy?.name || 'Unknown'}
+                              {quiz.creatorName || 'Unknown'}
                             </div>
                             <div className="text-sm text-gray-500">
-                              {quiz.createdBy?.role || 'Unknown Role'}
+                              {quiz.creatorRole || 'Unknown Role'}
                             </div>
                           </div>
                         </div>
@@ -239,7 +239,7 @@ const AdminAllQuizzes = () => {
                         {quiz.durationInMinutes} min
                       </td>
                       <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-900">
-                        {quiz.questions?.length || 0}
+                        {quiz.questionCount ?? 0}
                       </td>
                       <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-500">
                         {formatDateTime(quiz.startTime)}
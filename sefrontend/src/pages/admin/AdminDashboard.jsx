@@ -309,10 +309,10 @@ const AdminDashboard = () => {
                   <div className="flex items-center justify-between">
                     <div className="flex-1">
                         <h3 className="text-sm font-medium text-gray-900 dark:text-white">{quiz.title}</h3>
-                        <p className="text-sm text-gray-500 dark:text-gray-400">By {quiz.createdBy?.name || 'Unknown'}</p>
+                        <p className="text-sm text-gray-500 dark:text-gray-400">By {quiz.creatorName || 'Unknown'}</p>
                       <div className="mt-1 flex items-center space-x-2">
                           <span className="text-xs text-gray-500 dark:text-gray-400">{quiz.subject || 'No subject'}</span>
-                          <span className="text-xs text-gray-500 dark:text-gray-400">{quiz.questions?.length || 0} questions</span>
+                          <span className="text-xs text-gray-500 dark:text-gray-400">{quiz.questionCount ?? 0} questions</span>
                       </div>
                     </div>
                     <span className={`inline-flex items-center px-2.5 py-0.5 rounded-full text-xs font-medium ${
@@ -114,7 +114,7 @@ const FacultyAnalytics = () => {
                     <div className="text-left">
                       <h3 className="font-medium text-gray-900 dark:text-white">{quiz.title}</h3>
                       <p className="text-sm text-gray-500 dark:text-gray-400">
-                        {quiz.questions?.length || 0} questions
+                        {quiz.questionCount ?? 0} questions
                       </p>
                     </div>
                   </button>
@@ -161,7 +161,7 @@ const FacultyAnalytics = () => {
                   <div className="bg-blue-50 dark:bg-blue-900/20 rounded-lg p-4">
                     <p className="text-sm text-gray-500 dark:text-gray-400">Questions</p>
                     <p className="text-2xl font-bold text-blue-600 dark:text-blue-400">
-                      {selectedQuiz.questions?.length || 0}
+                      {selectedQuiz.questionCount ?? 0}
                     </p>
                   </div>
                 </div>
@@ -212,7 +212,7 @@ const FacultyAnalytics = () => {
                             <td className="px-6 py-4 whitespace-nowrap">
                               <div className="text-sm text-gray-900 dark:text-white">{submission.score || 0}</div>
                               <div className="text-sm text-gray-500 dark:text-gray-400">
-                                out of {selectedQuiz.questions?.length || 0}
+                                out of {selectedQuiz.questionCount ?? 0}
                               </div>
                             </td>
                             <td className="px-6 py-4 whitespace-nowrap">
@@ -110,11 +110,11 @@ const FacultyAssignments = () => {
                 <h3 className="font-medium text-gray-900 dark:text-white">{quiz.title}</h3>
                 <p className="text-sm text-gray-500 dark:text-gray-400 mt-1">{quiz.subject}</p>
                 <p className="text-sm text-gray-500 dark:text-gray-400 mt-1">
-                  By {quiz.createdBy?.name || 'Unknown'}
+                  By {quiz.creatorName || 'Unknown'}
                 </p>
                 <div className="mt-3 flex justify-between items-center">
                   <span className="text-xs text-gray-500 dark:text-gray-400">
-                    {quiz.questions?.length || 0} questions
+                    {quiz.questionCount ?? 0} questions
                   </span>
                   <Link
                     to={`/faculty/quiz/${quiz.id}/take`}
@@ -144,7 +144,7 @@ const FacultyAssignments = () => {
                 <h3 className="font-medium text-gray-900 dark:text-white">{quiz.title}</h3>
                 <p className="text-sm text-gray-500 dark:text-gray-400 mt-1">{quiz.subject}</p>
                 <p className="text-sm text-gray-500 dark:text-gray-400 mt-1">
-                  By {quiz.createdBy?.name || 'Unknown'}
+                  By {quiz.creatorName || 'Unknown'}
                 </p>
                 <div className="mt-3">
                   <span className={`inline-flex items-center px-2 py-1 rounded text-xs font-medium ${
@@ -174,7 +174,7 @@ const FacultyAssignments = () => {
                 <h3 className="font-medium text-gray-900 dark:text-white">{quiz.title}</h3>
                 <p className="text-sm text-gray-500 dark:text-gray-400 mt-1">{quiz.subject}</p>
                 <p className="text-sm text-gray-500 dark:text-gray-400 mt-1">
-                  Score: {quiz.userScore || 0}/{quiz.questions?.length || 0}
+                  Score: {quiz.userScore || 0}/{quiz.questionCount ?? 0}
                 </p>
                 <div className="mt-3">
                   <Link
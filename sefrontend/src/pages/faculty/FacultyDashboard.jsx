@@ -328,7 +328,7 @@ const FacultyDashboard = () => {
                           {status.status}
                         </span>
                         <span className="text-xs text-gray-500 dark:text-gray-400">
-                          {quiz.questions?.length || 0} questions
+                          {quiz.questionCount ?? 0} questions
                         </span>
                       </div>
                     </div>
@@ -238,7 +238,7 @@ const FacultyMyQuizzes = () => {
                         {quiz.durationInMinutes} min
                       </td>
                       <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-900">
-                        {quiz.questions?.length || 0}
+                        {quiz.questionCount ?? 0}
                       </td>
                       <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-500">
                         {formatDateTime(quiz.startTime)}
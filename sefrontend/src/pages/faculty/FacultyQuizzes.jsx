@@ -178,7 +178,7 @@ const FacultyQuizzes = () => {
                   <div className="space-y-2 mb-4">
                     <div className="flex justify-between text-sm">
                       <span className="text-gray-500">Created by:</span>
-                      <span className="text-gray-900">{quiz.createdBy?.name || 'Unknown'}</span>
+                      <span className="text-gray-900">{quiz.creatorName || 'Unknown'}</span>
                     </div>
                     <div className="flex justify-between text-sm">
                       <span className="text-gray-500">Subject:</span>
@@ -194,7 +194,7 @@ const FacultyQuizzes = () => {
                     </div>
                     <div className="flex justify-between text-sm">
                       <span className="text-gray-500">Questions:</span>
-                      <span className="text-gray-900">{quiz.questions?.length || 0}</span>
+                      <span className="text-gray-900">{quiz.questionCount ?? 0}</span>
                     </div>
                   </div>
 
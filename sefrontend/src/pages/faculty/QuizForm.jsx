@@ -48,8 +48,8 @@ const QuizForm = () => {
   const fetchQuizDetails = async () => {
     try {
       setLoading(true);
-      const response = await quizAPI.getMyQuizzes();
-      const quiz = response.data.find(q => q.id === parseInt(id));
+      const response = await quizAPI.getQuiz(id);
+      const quiz = response.data;
       if (quiz) {
         setFormData({
           title: quiz.title || '',
@@ -131,7 +131,7 @@ const QuizInstructions = () => {
             </div>
             <div className="flex justify-between">
               <span className="text-gray-600">Number of Questions:</span>
-              <span className="font-medium">{quiz.questions?.length || 0}</span>
+              <span className="font-medium">{quiz.questionCount ?? 0}</span>
             </div>
             <div className="flex justify-between">
               <span className="text-gray-600">Status:</span>
@@ -164,7 +164,7 @@ const QuizInstructions = () => {
         <h2 className="text-lg font-semibold text-gray-900 mb-4">Instructions</h2>
         <div className="prose max-w-none">
           <ul className="list-disc list-inside space-y-2 text-gray-700">
-            <li>This quiz contains <strong>{quiz.questions?.length || 0} questions</strong> and must be completed in <strong>{quiz.durationInMinutes} minutes</strong>.</li>
+            <li>This quiz contains <strong>{quiz.questionCount ?? 0} questions</strong> and must be completed in <strong>{quiz.durationInMinutes} minutes</strong>.</li>
             <li>Each question has <strong>4 options</strong> - select the most appropriate answer.</li>
             <li>You can navigate between questions using the navigation buttons.</li>
             <li>You can change your answers before submitting the quiz.</li>
@@ -283,7 +283,7 @@ const StudentQuizzes = () => {
                     <div className="flex justify-between text-sm">
                       <span className="text-gray-500">Questions:</span>
                       <span className="text-gray-900">
-                        {quiz.questions?.length || 0}
+                        {quiz.questionCount ?? 0}
                       </span>
                     </div>
                   </div>
@@ -78,6 +78,9 @@ export const quizAPI = {
   // Faculty/Admin: Get quizzes created by self
   getMyQuizzes: () => api.get('/api/quizzes'),
   
+  // Faculty/Admin: Get one quiz with its questions (for editing)
+  getQuiz: (id) => api.get(`/api/quizzes/${id}`),
+  
   // Faculty/Admin: Create quiz
   createQuiz: (quizData) => api.post('/api/quizzes', quizData),
   
@@ -141,11 +141,11 @@ const AdminAllQuizzes = () => {
                     <TableRow key={quiz.id} className="hover:bg-muted/50">
                       <TableCell className="font-medium">{quiz.title}</TableCell>
                       <TableCell>{quiz.subject}</TableCell>
-                      <TableCell>{quiz.createdBy?.name || 'N/A'}</TableCell>
+                      <TableCell>{quiz.creatorName || 'N/A'}</TableCell>
                       <TableCell>{quiz.durationInMinutes} min</TableCell>
                       <TableCell>{quiz.totalMarks}</TableCell>
                       <TableCell>{getStatusBadge(quiz.status)}</TableCell>
-                      <TableCell>{quiz.questions?.length || 0}</TableCell>
+                      <TableCell>{quiz.questionCount ?? 0}</TableCell>
                       <TableCell>
                         <div className="flex items-center justify-end gap-2">
                           <Button
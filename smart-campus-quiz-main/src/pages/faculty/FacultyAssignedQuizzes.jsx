@@ -95,7 +95,7 @@ const FacultyAssignedQuizzes = () => {
                 <div className="pt-2 border-t space-y-1">
                   <p className="text-sm font-semibold">Total Marks: {quiz.totalMarks}</p>
                   <p className="text-sm text-muted-foreground">
-                    Questions: {quiz.questions?.length || 0}
+                    Questions: {quiz.questionCount ?? 0}
                   </p>
                 </div>
               </CardContent>
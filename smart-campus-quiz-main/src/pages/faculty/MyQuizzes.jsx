@@ -143,7 +143,7 @@ const MyQuizzes = () => {
                       <TableCell>{quiz.durationInMinutes} min</TableCell>
                       <TableCell>{quiz.totalMarks}</TableCell>
                       <TableCell>{getStatusBadge(quiz.status)}</TableCell>
-                      <TableCell>{quiz.questions?.length || 0}</TableCell>
+                      <TableCell>{quiz.questionCount ?? 0}</TableCell>
                       <TableCell>
                         <div className="flex items-center justify-end gap-2">
                           <Button
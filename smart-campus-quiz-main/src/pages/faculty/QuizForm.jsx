@@ -62,8 +62,8 @@ const QuizForm = () => {
 
   const fetchQuizData = async () => {
     try {
-      const response = await api.get('/api/quizzes');
-      const quiz = response.data.find((q) => q.id === parseInt(id));
+      const response = await api.get(`/api/quizzes/${id}`);
+      const quiz = response.data;
       
       if (quiz) {
         setFormData({
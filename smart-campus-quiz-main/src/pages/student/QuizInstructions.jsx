@@ -93,7 +93,7 @@ const QuizInstructions = () => {
               <p className="text-sm text-muted-foreground">Total Questions</p>
               <div className="flex items-center gap-2">
                 <BookOpen className="h-4 w-4 text-primary" />
-                <p className="font-semibold">{quiz.questions?.length || 0}</p>
+                <p className="font-semibold">{quiz.questionCount ?? 0}</p>
               </div>
             </div>
           </div>